@@ -0,0 +1,157 @@
+import java.util.Arrays;
+
+/**
+ * Dense adjacency matrix of an undirected weighted graph, packed into a single flat primitive array.
+ * Only the strict upper triangle is stored (the matrix is symmetric and the diagonal is always 0), and the
+ * element width (byte, short or int) is the narrowest one that can hold the largest weight.
+ *
+ * @author Clay Benson
+ */
+public class AdjacencyMatrix {
+
+    //The most cells one Java array can hold
+    private static final long MAX_CELLS = Integer.MAX_VALUE - 8;
+
+    private int size;
+    private byte[] byteWeights;
+    private short[] shortWeights;
+    private int[] intWeights;
+    private int[] rowStarts; //index(row, column) is rowStarts[row] + column
+
+    /**
+     * Creates a matrix of all zeroes
+     * @param size the number of vertices (rows and columns) in the matrix
+     * @param maxWeight the largest weight that will ever be stored
+     */
+    public AdjacencyMatrix(int size, int maxWeight) {
+        this.size = size;
+        long cells = (long) size * (size - 1) / 2;
+        if (cells > MAX_CELLS) {
+            throw new IllegalArgumentException(String.format("A %d vertex matrix is too large to store", size));
+        }
+        int width = cellBytes(maxWeight);
+        if (width == Byte.BYTES) { //Weights are read back unsigned, so a byte holds up to 255
+            byteWeights = new byte[(int) cells];
+        } else if (width == Short.BYTES) {
+            shortWeights = new short[(int) cells];
+        } else {
+            intWeights = new int[(int) cells];
+        }
+        rowStarts = new int[size];
+        for (int row = 0; row < size; ++row) {
+            rowStarts[row] = (int) ((long) row * (2*size - row - 1) / 2) - row - 1;
+        }
+    }
+
+    /**
+     * Whether a matrix can be built: its upper triangle has to fit in one Java array, and the cells (at the width
+     * maxWeight needs) in half of the maximum heap, leaving the rest for the adjacency list built alongside it
+     * @param size the number of vertices (rows and columns) in the matrix
+     * @param maxWeight the largest weight that will ever be stored
+     * @return whether the matrix should fit
+     */
+    public static boolean fits(int size, int maxWeight) {
+        long cells = (long) size * (size - 1) / 2;
+        if (cells > MAX_CELLS) {
+            return false;
+        }
+        long bytes = cells * cellBytes(maxWeight) + (long) size * Integer.BYTES; //Cells, plus rowStarts
+        return bytes <= Runtime.getRuntime().maxMemory() / 2;
+    }
+
+    /**
+     * @return the narrowest cell width, in bytes, that holds weights up to maxWeight
+     */
+    private static int cellBytes(int maxWeight) {
+        if (maxWeight <= 0xFF) {
+            return Byte.BYTES;
+        } else if (maxWeight <= 0xFFFF) {
+            return Short.BYTES;
+        }
+        return Integer.BYTES;
+    }
+
+    /**
+     * Resets every cell to 0 without reallocating the storage
+     */
+    public void clear() {
+        if (byteWeights != null) {
+            Arrays.fill(byteWeights, (byte) 0);
+        } else if (shortWeights != null) {
+            Arrays.fill(shortWeights, (short) 0);
+        } else {
+            Arrays.fill(intWeights, 0);
+        }
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * Returns the position of (row, column) in the packed upper triangle. Requires row < column.
+     * The cells of one row are contiguous, so walking column = row+1..size-1 reads sequential memory.
+     */
+    private int index(int row, int column) {
+        return rowStarts[row] + column;
+    }
+
+    /**
+     * @return the weight of the edge between the two vertices, or 0 if there is no edge
+     */
+    public int get(int row, int column) {
+        if (row == column) {
+            return 0;
+        }
+        int i = (row < column) ? index(row, column) : index(column, row);
+        if (byteWeights != null) {
+            return byteWeights[i] & 0xFF;
+        } else if (shortWeights != null) {
+            return shortWeights[i] & 0xFFFF;
+        }
+        return intWeights[i];
+    }
+
+    /**
+     * Reads several cells of one row at once, for callers that only care about some of a vertex's neighbors.
+     * Columns after the row lie in one contiguous run of the packed triangle and columns before it are read down the
+     * stored column, so passing the columns in increasing order keeps the reads moving forward through memory.
+     * @param row the row to read
+     * @param columns the columns to read (none equal to row)
+     * @param count how many entries of columns to read
+     * @param weights filled so weights[k] is the weight at (row, columns[k]), 0 where there is no edge
+     */
+    public void getCells(int row, int[] columns, int count, int[] weights) {
+        int rowStart = rowStarts[row];
+        if (byteWeights != null) {
+            for (int k = 0; k < count; ++k) {
+                int column = columns[k];
+                weights[k] = byteWeights[(column < row) ? rowStarts[column] + row : rowStart + column] & 0xFF;
+            }
+        } else if (shortWeights != null) {
+            for (int k = 0; k < count; ++k) {
+                int column = columns[k];
+                weights[k] = shortWeights[(column < row) ? rowStarts[column] + row : rowStart + column] & 0xFFFF;
+            }
+        } else {
+            for (int k = 0; k < count; ++k) {
+                int column = columns[k];
+                weights[k] = intWeights[(column < row) ? rowStarts[column] + row : rowStart + column];
+            }
+        }
+    }
+
+    /**
+     * Sets the weight of the (undirected) edge between two distinct vertices
+     */
+    public void set(int row, int column, int weight) {
+        int i = (row < column) ? index(row, column) : index(column, row);
+        if (byteWeights != null) {
+            byteWeights[i] = (byte) weight;
+        } else if (shortWeights != null) {
+            shortWeights[i] = (short) weight;
+        } else {
+            intWeights[i] = weight;
+        }
+    }
+}
@@ -0,0 +1,192 @@
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.UnsupportedEncodingException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Runs every test in a manifest inside one JVM, several at a time. The manifest has one test per line, "n seed p",
+ * with blank lines and lines starting with # skipped. Each test gets its own Graph on a fixed size worker pool, and
+ * prints into its own buffer; the buffers are written out in manifest order as soon as every earlier test is done, so
+ * the output matches running the tests one at a time. Startup and JIT warmup are paid once for the whole batch.
+ *
+ * @author Clay Benson
+ */
+public class BatchRunner {
+
+    private Graph.GenerationMode generationMode;
+    private int generationThreads;
+    private int pipelineThreads;
+    private Graph.PrimQueue primQueue;
+    private EnumSet<Graph.Algorithm> algorithms;
+    private EnumSet<Graph.KruskalSort> sorts;
+    private boolean streaming;
+    private LongAdder totalVertices = new LongAdder();
+    private LongAdder totalEdges = new LongAdder();
+    private LongAdder graphsRun = new LongAdder();
+
+    /**
+     * @param generationMode how every test's graph is generated
+     * @param generationThreads threads each test generates its graph on, or 0 for the original generator
+     * @param pipelineThreads threads each test runs its MST pipelines on, or 0 to run them one after another
+     * @param primQueue the priority queue each test's Prim runs on
+     * @param algorithms the MST algorithms each test runs
+     * @param sorts the sorts each test's Kruskal runs use, or null for Graph's default
+     * @param streaming whether to find the MSTs without storing the graphs
+     */
+    public BatchRunner(Graph.GenerationMode generationMode, int generationThreads, int pipelineThreads,
+                       Graph.PrimQueue primQueue, EnumSet<Graph.Algorithm> algorithms,
+                       EnumSet<Graph.KruskalSort> sorts, boolean streaming) {
+        this.generationMode = generationMode;
+        this.generationThreads = generationThreads;
+        this.pipelineThreads = pipelineThreads;
+        this.primQueue = primQueue;
+        this.algorithms = algorithms;
+        this.sorts = sorts;
+        this.streaming = streaming;
+    }
+
+    /**
+     * Runs a manifest and prints each test's report, followed by the batch throughput
+     * @param manifest the manifest file
+     * @param numThreads how many tests to run at once
+     * @throws IOException if the manifest can't be read or has a malformed line
+     */
+    public void run(Path manifest, int numThreads) throws IOException {
+        List<String[]> specs = readManifest(manifest);
+
+        long start = System.nanoTime();
+        ExecutorService pool = Executors.newFixedThreadPool(numThreads);
+        try {
+            List<Future<byte[]>> reports = new ArrayList<>(specs.size());
+            for (String[] spec : specs) {
+                reports.add(pool.submit(() -> runTest(spec)));
+            }
+            for (Future<byte[]> report : reports) { //Manifest order
+                System.out.write(report.get());
+                System.out.flush();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("The batch was interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Batch test failed", e.getCause());
+        } finally {
+            pool.shutdown();
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        long graphs = graphsRun.sum();
+        System.out.println(String.format("\nBATCH: %d graphs (%d skipped or failed) in %.3f seconds on %d threads (%.2f graphs/sec)",
+                graphs, specs.size() - graphs, seconds, numThreads, graphs / Math.max(seconds, 1e-9)));
+    }
+
+    /**
+     * @return the number of vertices in every graph the batch has run so far
+     */
+    public long getTotalVertices() {
+        return totalVertices.sum();
+    }
+
+    /**
+     * @return the number of edges in every graph the batch has run so far
+     */
+    public long getTotalEdges() {
+        return totalEdges.sum();
+    }
+
+    /**
+     * Reads the "n seed p" lines of a manifest, keeping each as its three fields
+     */
+    private static List<String[]> readManifest(Path manifest) throws IOException {
+        List<String[]> specs = new ArrayList<>();
+        try (BufferedReader reader = Files.newBufferedReader(manifest, StandardCharsets.UTF_8)) {
+            String line;
+            int lineNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                line = line.trim();
+                if (line.isEmpty() || line.startsWith("#")) {
+                    continue;
+                }
+                String[] fields = line.split("\\s+");
+                if (fields.length != 3) {
+                    throw new IOException(String.format("Line %d of the manifest must be \"n seed p\"", lineNumber));
+                }
+                specs.add(fields);
+            }
+        }
+        return specs;
+    }
+
+    /**
+     * Runs one test, printing everything it would print on its own into a buffer
+     * @return the test's report
+     */
+    private byte[] runTest(String[] spec) throws UnsupportedEncodingException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        PrintStream out = new PrintStream(buffer, false, "UTF-8");
+
+        int n;
+        long seed;
+        double p;
+        try {
+            n = Integer.parseInt(spec[0]);
+            seed = Long.parseLong(spec[1]);
+        } catch (NumberFormatException e) {
+            out.println(String.format("\nSKIPPED: %s (n and seed must be integers)", String.join(" ", spec)));
+            out.flush();
+            return buffer.toByteArray();
+        }
+        try {
+            p = Double.parseDouble(spec[2]);
+        } catch (NumberFormatException e) {
+            out.println(String.format("\nSKIPPED: %s (p must be a real number)", String.join(" ", spec)));
+            out.flush();
+            return buffer.toByteArray();
+        }
+        if (n < 2 || p > 1.0 || p < 0.0) {
+            out.println(String.format("\nSKIPPED: %s (n must be greater than 1 and p between 0 and 1)", String.join(" ", spec)));
+            out.flush();
+            return buffer.toByteArray();
+        }
+
+        out.print("\n");
+        out.println(String.format("TEST: n=%d, seed=%d, p=%s", n, seed, Double.toString(p)));
+        Graph graph = new Graph(seed);
+        graph.setOutput(out);
+        graph.setGenerationMode(generationMode);
+        try {
+            if (streaming) {
+                graph.generateStreaming(n, p);
+            } else {
+                graph.setGenerationThreads(generationThreads);
+                graph.setPipelineThreads(pipelineThreads);
+                graph.setPrimQueue(primQueue);
+                graph.setAlgorithms(algorithms);
+                if (sorts != null) {
+                    graph.setSorts(sorts);
+                }
+                graph.generate(n, p);
+            }
+            totalVertices.add(graph.getNumVertices());
+            totalEdges.add(graph.getNumEdges());
+            graphsRun.increment();
+        } catch (RuntimeException | OutOfMemoryError e) { //Only this test fails, the rest of the batch keeps going
+            out.println(String.format("FAILED: %s (%s)", String.join(" ", spec), e));
+        }
+        out.flush();
+        return buffer.toByteArray();
+    }
+}
@@ -0,0 +1,152 @@
+import java.util.Arrays;
+
+/**
+ * Bucket queue (Dial's structure) over the vertices 0..n-1 for small non-negative integer keys, all in primitive
+ * arrays. There is one bucket per key value, each a singly linked stack of entries drawn from a shared pool, so
+ * insert and decreaseKey are an O(1) push with no comparisons at all. decreaseKey doesn't search for the vertex's old
+ * entry; the stale entry is simply skipped when it is popped later (its key no longer matches its bucket).
+ * Dial's algorithm relies on the extracted keys never decreasing, which holds for Dijkstra but not for Prim (a
+ * vertex reached later can have a lighter edge). So instead of a cursor that only moves forward, the queue keeps a
+ * lower bound on the smallest key that moves back on a lighter push, and finds the next non-empty bucket from it
+ * with a two level bitmap of the non-empty buckets (64 buckets per bit test, 4096 per summary bit test).
+ *
+ * @author Clay Benson
+ */
+public class BucketPriorityQueue implements IndexedPriorityQueue {
+
+    private int[] keys;      //Vertex -> key
+    private int[] queued;    //Vertex -> 1 if queued (int, not boolean: contains sits in Prim's hottest loop and int loads compiled faster there)
+    private int[] heads;     //Key -> top entry of its bucket, -1 if empty
+    private int[] entryVertex;
+    private int[] entryNext; //Entry -> the entry below it in its bucket (or the next free entry), -1 at the bottom
+    private int poolSize;    //Entries ever handed out
+    private int freeEntry;   //Top of the stack of popped entries to reuse, -1 if none
+    private long[] nonEmpty; //Bit k is set if bucket k is non-empty
+    private long[] summary;  //Bit w is set if nonEmpty[w] != 0
+    private int minKey;      //No queued vertex has a smaller key than this
+    private int numItems;
+
+    /**
+     * Creates an empty queue
+     * @param capacity the number of vertices that can be stored (vertices are 0 to capacity-1)
+     * @param maxKey the largest key that will ever be stored
+     */
+    public BucketPriorityQueue(int capacity, int maxKey) {
+        keys = new int[capacity];
+        queued = new int[capacity];
+        heads = new int[maxKey+1];
+        Arrays.fill(heads, -1);
+        entryVertex = new int[Math.max(capacity, 16)];
+        entryNext = new int[entryVertex.length];
+        poolSize = 0;
+        freeEntry = -1;
+        nonEmpty = new long[(maxKey >>> 6) + 1];
+        summary = new long[(nonEmpty.length >>> 6) + 1];
+        minKey = maxKey+1;
+        numItems = 0;
+    }
+
+    public boolean isEmpty() {
+        return numItems == 0;
+    }
+
+    public boolean contains(int vertex) {
+        return queued[vertex] != 0;
+    }
+
+    public int getKey(int vertex) {
+        return keys[vertex];
+    }
+
+    public void insert(int vertex, int key) {
+        if (Metrics.ENABLED) Metrics.add(Metrics.Counter.HEAP_OPERATIONS, 1);
+        keys[vertex] = key;
+        queued[vertex] = 1;
+        push(vertex, key);
+        numItems++;
+    }
+
+    public void decreaseKey(int vertex, int key) {
+        if (Metrics.ENABLED) Metrics.add(Metrics.Counter.HEAP_OPERATIONS, 1);
+        keys[vertex] = key;
+        push(vertex, key); //The old entry goes stale
+    }
+
+    public int extractMin() {
+        if (Metrics.ENABLED) Metrics.add(Metrics.Counter.HEAP_OPERATIONS, 1);
+        while (true) {
+            minKey = nextNonEmpty(minKey);
+            int vertex = pop(minKey);
+            if (queued[vertex] != 0 && keys[vertex] == minKey) { //Otherwise the entry is stale
+                queued[vertex] = 0;
+                numItems--;
+                return vertex;
+            }
+        }
+    }
+
+    /**
+     * Pushes an entry for a vertex onto a bucket
+     */
+    private void push(int vertex, int key) {
+        int entry = freeEntry;
+        if (entry != -1) {
+            freeEntry = entryNext[entry];
+        } else {
+            if (poolSize == entryVertex.length) {
+                entryVertex = Arrays.copyOf(entryVertex, poolSize*2);
+                entryNext = Arrays.copyOf(entryNext, poolSize*2);
+            }
+            entry = poolSize++;
+        }
+        entryVertex[entry] = vertex;
+        entryNext[entry] = heads[key];
+        if (heads[key] == -1) {
+            nonEmpty[key >>> 6] |= 1L << key;
+            summary[key >>> 12] |= 1L << (key >>> 6);
+        }
+        heads[key] = entry;
+        if (key < minKey) {
+            minKey = key;
+        }
+    }
+
+    /**
+     * Pops the top entry of a non-empty bucket
+     * @return the entry's vertex
+     */
+    private int pop(int key) {
+        int entry = heads[key];
+        heads[key] = entryNext[entry];
+        if (heads[key] == -1) {
+            nonEmpty[key >>> 6] &= ~(1L << key);
+            if (nonEmpty[key >>> 6] == 0) {
+                summary[key >>> 12] &= ~(1L << (key >>> 6));
+            }
+        }
+        entryNext[entry] = freeEntry;
+        freeEntry = entry;
+        return entryVertex[entry];
+    }
+
+    /**
+     * @return the smallest non-empty bucket at or after from (there must be one)
+     */
+    private int nextNonEmpty(int from) {
+        int word = from >>> 6;
+        long bits = nonEmpty[word] & (-1L << from);
+        if (bits != 0) {
+            return (word << 6) + Long.numberOfTrailingZeros(bits);
+        }
+
+        //Nothing left in this word, so find the next non-empty word through the summary
+        word++;
+        int summaryWord = word >>> 6;
+        long summaryBits = (word < nonEmpty.length) ? summary[summaryWord] & (-1L << word) : 0;
+        while (summaryBits == 0) {
+            summaryBits = summary[++summaryWord];
+        }
+        word = (summaryWord << 6) + Long.numberOfTrailingZeros(summaryBits);
+        return (word << 6) + Long.numberOfTrailingZeros(nonEmpty[word]);
+    }
+}
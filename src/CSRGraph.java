@@ -0,0 +1,130 @@
+import java.nio.IntBuffer;
+
+/**
+ * Compressed sparse row (CSR) representation of an undirected weighted graph.
+ * Every edge is stored as two half-edges, and the neighbors of vertex v live in targets[offsets[v]..offsets[v+1])
+ * with the matching weights at the same positions in weights.
+ * A graph loaded from a graph file is a MappedCSRGraph instead, which reads the same layout straight out of the
+ * mapped file.
+ *
+ * @author Clay Benson
+ */
+public class CSRGraph {
+
+    private int numVertices;
+    private int numEdges;
+    private int[] offsets;
+    private int[] targets;
+    private int[] weights;
+    private volatile int maxWeight = -1; //Computed on first use
+
+    /**
+     * Builds the CSR arrays from a list of undirected edges.
+     * Half-edges are placed in the order the edges are given, so edges generated column by column
+     * (source < destination, increasing source) leave every neighbor list in increasing vertex order.
+     * @param numVertices the number of vertices in the graph
+     * @param edges the edges of the graph, each listed once
+     */
+    public CSRGraph(int numVertices, EdgeArray edges) {
+        this.numVertices = numVertices;
+        this.numEdges = edges.size();
+        offsets = new int[numVertices+1];
+        targets = new int[2*numEdges];
+        weights = new int[2*numEdges];
+
+        for (int i = 0; i < numEdges; ++i) { //Count the degree of every vertex
+            offsets[edges.getSource(i)+1]++;
+            offsets[edges.getDestination(i)+1]++;
+        }
+        for (int v = 0; v < numVertices; ++v) { //Cumulative sum
+            offsets[v+1] += offsets[v];
+        }
+
+        int[] next = new int[numVertices];
+        System.arraycopy(offsets, 0, next, 0, numVertices);
+        for (int i = 0; i < numEdges; ++i) {
+            int u = edges.getSource(i);
+            int v = edges.getDestination(i);
+            int weight = edges.getWeight(i);
+            targets[next[u]] = v;
+            weights[next[u]++] = weight;
+            targets[next[v]] = u;
+            weights[next[v]++] = weight;
+        }
+    }
+
+    /**
+     * For subclasses that keep the CSR arrays somewhere other than the heap, and override every accessor
+     * @param numVertices the number of vertices in the graph
+     * @param numEdges the number of (undirected) edges in the graph
+     */
+    protected CSRGraph(int numVertices, int numEdges) {
+        this.numVertices = numVertices;
+        this.numEdges = numEdges;
+    }
+
+    public int getNumVertices() {
+        return numVertices;
+    }
+
+    public int getNumEdges() {
+        return numEdges;
+    }
+
+    /**
+     * The CSR arrays as buffers, for writing the graph out (see GraphFile)
+     */
+    public IntBuffer getOffsets() {
+        return IntBuffer.wrap(offsets);
+    }
+
+    public IntBuffer getTargets() {
+        return IntBuffer.wrap(targets);
+    }
+
+    public IntBuffer getWeights() {
+        return IntBuffer.wrap(weights);
+    }
+
+    /**
+     * @param vertex the vertex whose neighbors to look up
+     * @return the index of the first half-edge of the vertex
+     */
+    public int getStart(int vertex) {
+        return offsets[vertex];
+    }
+
+    /**
+     * @param vertex the vertex whose neighbors to look up
+     * @return one past the index of the last half-edge of the vertex
+     */
+    public int getEnd(int vertex) {
+        return offsets[vertex+1];
+    }
+
+    public int getDegree(int vertex) {
+        return offsets[vertex+1] - offsets[vertex];
+    }
+
+    public int getTarget(int halfEdge) {
+        return targets[halfEdge];
+    }
+
+    /**
+     * @return the largest edge weight in the graph (0 if there are no edges), found with one scan on the first call
+     */
+    public int getMaxWeight() {
+        if (maxWeight < 0) { //Recomputing the same value is harmless, so concurrent first calls don't need a lock
+            int max = 0;
+            for (int i = 0; i < 2*numEdges; ++i) {
+                max = Math.max(max, getWeight(i));
+            }
+            maxWeight = max;
+        }
+        return maxWeight;
+    }
+
+    public int getWeight(int halfEdge) {
+        return weights[halfEdge];
+    }
+}
@@ -0,0 +1,63 @@
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Thread-safe union-find over the vertices 0..n-1. Parent links live in an AtomicIntegerArray and are only changed
+ * with compare-and-set: find does path halving when it can, and union links the root with the smaller index under
+ * the other, retrying if another thread got there first. Linking by index means no cycle can ever form.
+ *
+ * @author Clay Benson
+ */
+public class ConcurrentDisjointSet {
+
+    private AtomicIntegerArray parent;
+
+    /**
+     * Creates n singleton sets
+     * @param n the number of elements
+     */
+    public ConcurrentDisjointSet(int n) {
+        parent = new AtomicIntegerArray(n);
+        for (int i = 0; i < n; ++i) {
+            parent.set(i, i);
+        }
+    }
+
+    /**
+     * @return the root of x's set at some point during the call
+     */
+    public int find(int x) {
+        while (true) {
+            int p = parent.get(x);
+            if (p == x) {
+                return x;
+            }
+            int grandparent = parent.get(p);
+            if (p != grandparent) {
+                parent.compareAndSet(x, p, grandparent); //Path halving, fine to lose the race
+            }
+            x = grandparent;
+        }
+    }
+
+    /**
+     * Merges the sets containing x and y
+     * @return true if this call merged them, false if they were already in the same set
+     */
+    public boolean union(int x, int y) {
+        while (true) {
+            int root1 = find(x);
+            int root2 = find(y);
+            if (root1 == root2) {
+                return false;
+            }
+            if (root1 > root2) {
+                int tmp = root1;
+                root1 = root2;
+                root2 = tmp;
+            }
+            if (parent.compareAndSet(root1, root1, root2)) {
+                return true;
+            }
+        }
+    }
+}
@@ -0,0 +1,128 @@
+import java.util.Arrays;
+
+/**
+ * Indexed d-ary min-heap over the vertices 0..n-1, keyed by int, for d a power of two (4 and 8 are the useful ones).
+ * A wider heap is shallower (log_d V levels), so decreaseKey and insert swim fewer levels, and the d children sink
+ * looks at sit next to each other in memory. The keys are kept in the heap array's order (not by vertex) so that
+ * scan reads one or two cache lines instead of d scattered ones.
+ *
+ * @author Clay Benson
+ */
+public class DaryHeap implements IndexedPriorityQueue {
+
+    private int shift;        //log2(d): the children of i are (i << shift) + 1 to (i << shift) + d
+    private int[] heap;       //Heap position -> vertex
+    private int[] heapKeys;   //Heap position -> key of the vertex there
+    private int[] position;   //Vertex -> heap position, -1 if the vertex isn't in the heap
+    private int[] keys;       //Vertex -> key, still readable after the vertex is extracted
+    private int numItems;
+
+    /**
+     * Creates an empty heap
+     * @param capacity the number of vertices that can be stored (vertices are 0 to capacity-1)
+     * @param arity the number of children per node, a power of two
+     */
+    public DaryHeap(int capacity, int arity) {
+        if (arity < 2 || Integer.bitCount(arity) != 1) {
+            throw new IllegalArgumentException(String.format("Heap arity must be a power of two, not %d", arity));
+        }
+        shift = Integer.numberOfTrailingZeros(arity);
+        heap = new int[capacity];
+        heapKeys = new int[capacity];
+        position = new int[capacity];
+        keys = new int[capacity];
+        Arrays.fill(position, -1);
+        numItems = 0;
+    }
+
+    public boolean isEmpty() {
+        return numItems == 0;
+    }
+
+    public boolean contains(int vertex) {
+        return position[vertex] >= 0;
+    }
+
+    public int getKey(int vertex) {
+        return keys[vertex];
+    }
+
+    public void insert(int vertex, int key) {
+        if (Metrics.ENABLED) Metrics.add(Metrics.Counter.HEAP_OPERATIONS, 1);
+        keys[vertex] = key;
+        swim(numItems++, vertex, key);
+    }
+
+    public void decreaseKey(int vertex, int key) {
+        if (Metrics.ENABLED) Metrics.add(Metrics.Counter.HEAP_OPERATIONS, 1);
+        keys[vertex] = key;
+        swim(position[vertex], vertex, key);
+    }
+
+    public int extractMin() {
+        if (Metrics.ENABLED) Metrics.add(Metrics.Counter.HEAP_OPERATIONS, 1);
+        int min = heap[0];
+        position[min] = -1;
+        numItems--;
+        if (numItems > 0) {
+            sink(0, heap[numItems], heapKeys[numItems]);
+        }
+        return min;
+    }
+
+    /**
+     * Moves a vertex up from a hole at position k until its parent's key is no larger, shifting parents down
+     * into the hole instead of swapping
+     */
+    private void swim(int k, int vertex, int key) {
+        int steps = 0;
+        while (k > 0) {
+            int parent = (k - 1) >>> shift;
+            if (heapKeys[parent] <= key) {
+                break;
+            }
+            place(k, heap[parent], heapKeys[parent]);
+            k = parent;
+            steps++;
+        }
+        place(k, vertex, key);
+        if (Metrics.ENABLED) Metrics.add(Metrics.Counter.HEAP_SIFT_STEPS, steps);
+    }
+
+    /**
+     * Moves a vertex down from a hole at position k until none of its children has a smaller key, shifting the
+     * smallest child up into the hole each level
+     */
+    private void sink(int k, int vertex, int key) {
+        int steps = 0;
+        while (true) {
+            int firstChild = (k << shift) + 1;
+            if (firstChild >= numItems) {
+                break;
+            }
+            int lastChild = Math.min(firstChild + (1 << shift), numItems);
+            int smallest = firstChild;
+            int smallestKey = heapKeys[firstChild];
+            for (int child = firstChild + 1; child < lastChild; ++child) {
+                if (heapKeys[child] < smallestKey) {
+                    smallest = child;
+                    smallestKey = heapKeys[child];
+                }
+            }
+            if (smallestKey >= key) {
+                break;
+            }
+            place(k, heap[smallest], smallestKey);
+            k = smallest;
+            steps++;
+        }
+        place(k, vertex, key);
+        if (Metrics.ENABLED) Metrics.add(Metrics.Counter.HEAP_SIFT_STEPS, steps);
+    }
+
+    private void place(int k, int vertex, int key) {
+        heap[k] = vertex;
+        heapKeys[k] = key;
+        position[vertex] = k;
+    }
+}
@@ -0,0 +1,94 @@
+/**
+ * Union-find (disjoint set) structure over the vertices 0..n-1, stored in primitive arrays.
+ * Uses union by rank and path halving, so a sequence of operations runs in near-linear time.
+ *
+ * @author Clay Benson
+ */
+public class DisjointSet {
+
+    private int[] parent;
+    private byte[] rank; //Rank is bounded by log2(n), so it always fits in a byte
+    private int numSets;
+
+    /**
+     * Creates n singleton sets, each vertex being its own parent
+     * @param n the number of elements
+     */
+    public DisjointSet(int n) {
+        parent = new int[n];
+        rank = new byte[n];
+        reset();
+    }
+
+    /**
+     * Puts every element back into its own set, reusing the arrays
+     */
+    public void reset() {
+        numSets = parent.length;
+        for (int i = 0; i < parent.length; ++i) {
+            parent[i] = i;
+            rank[i] = 0;
+        }
+    }
+
+    /**
+     * Finds the root of the set containing x. Every visited node is pointed at its grandparent along the way
+     * (path halving), and the loop is iterative so long chains can't overflow the stack.
+     * @param x the element to look up
+     * @return the root of x's set
+     */
+    public int find(int x) {
+        int steps = 0;
+        while (parent[x] != x) {
+            parent[x] = parent[parent[x]];
+            x = parent[x];
+            steps++;
+        }
+        if (Metrics.ENABLED) {
+            Metrics.add(Metrics.Counter.FINDS, 1);
+            Metrics.add(Metrics.Counter.FIND_STEPS, steps);
+        }
+        return x;
+    }
+
+    /**
+     * Links two roots by rank. Both arguments must already be roots (as returned by find), so they aren't
+     * looked up again.
+     * @param root1 the root of the first set
+     * @param root2 the root of the second set
+     * @return the root of the merged set
+     */
+    public int unionRoots(int root1, int root2) {
+        if (root1 == root2) {
+            return root1;
+        }
+        numSets--;
+        if (rank[root1] > rank[root2]) {
+            parent[root2] = root1;
+            return root1;
+        }
+        parent[root1] = root2;
+        if (rank[root1] == rank[root2]) {
+            rank[root2]++;
+        }
+        return root2;
+    }
+
+    /**
+     * Merges the sets containing x and y
+     * @return true if they were in different sets
+     */
+    public boolean union(int x, int y) {
+        int root1 = find(x);
+        int root2 = find(y);
+        if (root1 == root2) {
+            return false;
+        }
+        unionRoots(root1, root2);
+        return true;
+    }
+
+    public int getNumSets() {
+        return numSets;
+    }
+}
@@ -0,0 +1,232 @@
+import java.util.Arrays;
+
+/**
+ * Growable list of weighted edges stored as parallel primitive arrays (struct of arrays), so sorting and scanning
+ * edges moves ints around instead of allocating Edge objects.
+ * Edges are ordered the same way as Edge.lessThan: by weight, then source vertex, then destination vertex.
+ *
+ * @author Clay Benson
+ */
+public class EdgeArray {
+
+    private int[] sources;
+    private int[] destinations;
+    private int[] weights;
+    private int size;
+
+    /**
+     * Creates an empty edge array
+     * @param capacity the number of edges to make room for up front
+     */
+    public EdgeArray(int capacity) {
+        capacity = Math.max(capacity, 1);
+        sources = new int[capacity];
+        destinations = new int[capacity];
+        weights = new int[capacity];
+        size = 0;
+    }
+
+    public EdgeArray(EdgeArray clone) { //Copy constructor, for making copies of lists for sorting
+        this.sources = Arrays.copyOf(clone.sources, Math.max(clone.size, 1));
+        this.destinations = Arrays.copyOf(clone.destinations, Math.max(clone.size, 1));
+        this.weights = Arrays.copyOf(clone.weights, Math.max(clone.size, 1));
+        this.size = clone.size;
+    }
+
+    public void add(int source, int destination, int weight) {
+        if (size == sources.length) {
+            int newLength = sources.length*2;
+            sources = Arrays.copyOf(sources, newLength);
+            destinations = Arrays.copyOf(destinations, newLength);
+            weights = Arrays.copyOf(weights, newLength);
+        }
+        sources[size] = source;
+        destinations[size] = destination;
+        weights[size] = weight;
+        size++;
+    }
+
+    /**
+     * Empties the array, keeping its storage for reuse
+     */
+    public void clear() {
+        size = 0;
+    }
+
+    /**
+     * Drops every edge past the first newSize
+     */
+    public void truncate(int newSize) {
+        size = Math.min(size, newSize);
+    }
+
+    /**
+     * Appends every edge of another array, in order
+     */
+    public void addAll(EdgeArray other) {
+        if (size + other.size > sources.length) {
+            int newLength = Math.max(sources.length*2, size + other.size);
+            sources = Arrays.copyOf(sources, newLength);
+            destinations = Arrays.copyOf(destinations, newLength);
+            weights = Arrays.copyOf(weights, newLength);
+        }
+        System.arraycopy(other.sources, 0, sources, size, other.size);
+        System.arraycopy(other.destinations, 0, destinations, size, other.size);
+        System.arraycopy(other.weights, 0, weights, size, other.size);
+        size += other.size;
+    }
+
+    /**
+     * Overwrites the edge at an index
+     */
+    public void set(int index, int source, int destination, int weight) {
+        sources[index] = source;
+        destinations[index] = destination;
+        weights[index] = weight;
+    }
+
+    /**
+     * Copies the edge at one index over the edge at another (dest = src)
+     */
+    public void copy(int src, int dest) {
+        sources[dest] = sources[src];
+        destinations[dest] = destinations[src];
+        weights[dest] = weights[src];
+    }
+
+    /**
+     * Swaps 2 edges by their indeces
+     */
+    public void swap(int pos1, int pos2) {
+        int tmp = sources[pos1];
+        sources[pos1] = sources[pos2];
+        sources[pos2] = tmp;
+        tmp = destinations[pos1];
+        destinations[pos1] = destinations[pos2];
+        destinations[pos2] = tmp;
+        tmp = weights[pos1];
+        weights[pos1] = weights[pos2];
+        weights[pos2] = tmp;
+    }
+
+    /**
+     * Same ordering as Edge.lessThan, on two edges of this array
+     * @return whether the edge at i comes before the edge at j
+     */
+    public boolean lessThan(int i, int j) {
+        return lessThan(i, sources[j], destinations[j], weights[j]);
+    }
+
+    /**
+     * Same ordering as Edge.lessThan, comparing the edge at i to an edge given by its fields
+     * @return whether the edge at i comes before the given edge
+     */
+    public boolean lessThan(int i, int source, int destination, int weight) {
+        if (Metrics.ENABLED) Metrics.add(Metrics.Counter.COMPARISONS, 1);
+        if (weights[i] != weight) {
+            return weights[i] < weight;
+        } else if (sources[i] != source) { //Weights are equal
+            return sources[i] < source;
+        } else { //Weights are equal, source vertices are equal
+            return destinations[i] < destination;
+        }
+    }
+
+    /**
+     * Same ordering as Edge.lessThan, as a three way comparison of the edge at i to an edge given by its fields
+     * @return negative if the edge at i comes before the given edge, positive if it comes after, 0 if they're equal
+     */
+    public int compare(int i, int source, int destination, int weight) {
+        if (Metrics.ENABLED) Metrics.add(Metrics.Counter.COMPARISONS, 1);
+        if (weights[i] != weight) {
+            return (weights[i] < weight) ? -1 : 1;
+        } else if (sources[i] != source) { //Weights are equal
+            return (sources[i] < source) ? -1 : 1;
+        } else if (destinations[i] != destination) { //Weights are equal, source vertices are equal
+            return (destinations[i] < destination) ? -1 : 1;
+        }
+        return 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int getSource(int index) {
+        return sources[index];
+    }
+
+    public int getDestination(int index) {
+        return destinations[index];
+    }
+
+    public int getWeight(int index) {
+        return weights[index];
+    }
+
+    /**
+     * @return the largest weight in the array, or 0 if it's empty
+     */
+    public int getMaxWeight() {
+        int max = 0;
+        for (int i = 0; i < size; ++i) {
+            if (weights[i] > max) {
+                max = weights[i];
+            }
+        }
+        return max;
+    }
+
+    /**
+     * @return the sum of all the weights in the array
+     */
+    public long getWeightSum() {
+        long sum = 0;
+        for (int i = 0; i < size; ++i) {
+            sum += weights[i];
+        }
+        return sum;
+    }
+
+    /**
+     * The backing arrays, for bulk algorithms (like the radix sort) that work column by column.
+     * Only the first size() entries are in use.
+     */
+    public int[] getSources() {
+        return sources;
+    }
+
+    public int[] getDestinations() {
+        return destinations;
+    }
+
+    public int[] getWeights() {
+        return weights;
+    }
+
+    /**
+     * Exchanges the storage of two edge arrays in O(1), used by sorts that ping-pong between a list and a scratch copy
+     * @param other the array to trade contents with
+     */
+    public void swapContents(EdgeArray other) {
+        int[] tmp = sources;
+        sources = other.sources;
+        other.sources = tmp;
+        tmp = destinations;
+        destinations = other.destinations;
+        other.destinations = tmp;
+        tmp = weights;
+        weights = other.weights;
+        other.weights = tmp;
+        int tmpSize = size;
+        size = other.size;
+        other.size = tmpSize;
+    }
+
+    /**
+     * @return the edge at an index as a standalone Edge object
+     */
+    public Edge get(int index) {
+        return new Edge(sources[index], destinations[index], weights[index]);
+    }
+}
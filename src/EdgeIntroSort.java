@@ -0,0 +1,158 @@
+/**
+ * Introsort for edges, giving the same order as Edge.lessThan (weight, then source, then destination).
+ * Each range is split with a three way (Dutch flag) partition around a median-of-three pivot, or Tukey's ninther
+ * (median of three medians) on large ranges, so sorted, reversed and duplicate heavy input all split evenly. The
+ * smaller side is sorted recursively and the larger one in the loop, so the stack stays O(log n), and a range that
+ * still hasn't been sorted after 2*log2(n) partitions is heapsorted instead, which bounds the worst case at
+ * O(n log n). Small ranges are finished with insertion sort.
+ *
+ * @author Clay Benson
+ */
+public class EdgeIntroSort {
+
+    //Ranges smaller than this are insertion sorted
+    private static final int INSERTION_THRESHOLD = 16;
+
+    //Ranges at least this long take the ninther as the pivot instead of the median of three
+    private static final int NINTHER_THRESHOLD = 128;
+
+    /**
+     * Sorts a whole list in place
+     * @param sortList the list to sort
+     * @return the sorted list
+     */
+    public static EdgeArray sort(EdgeArray sortList) {
+        sort(sortList, 0, sortList.size()-1);
+        return sortList;
+    }
+
+    /**
+     * Sorts the range [lo, hi] of a list in place
+     * @param sortList the list to sort
+     * @param lo the low index of the range
+     * @param hi the high index of the range
+     */
+    public static void sort(EdgeArray sortList, int lo, int hi) {
+        if (lo < hi) {
+            int depthLimit = 2 * (31 - Integer.numberOfLeadingZeros(hi - lo + 1));
+            introSort(sortList, lo, hi, depthLimit);
+        }
+    }
+
+    private static void introSort(EdgeArray sortList, int lo, int hi, int depthLimit) {
+        while (hi - lo >= INSERTION_THRESHOLD) {
+            if (depthLimit-- == 0) { //Partitioning isn't converging on this range
+                heapSort(sortList, lo, hi);
+                return;
+            }
+
+            int pivot = choosePivot(sortList, lo, hi);
+            int pivotSource = sortList.getSource(pivot);
+            int pivotDestination = sortList.getDestination(pivot);
+            int pivotWeight = sortList.getWeight(pivot);
+
+            //[lo, lt) is less than the pivot, [lt, i) equal, [i, gt] not yet seen, (gt, hi] greater
+            int lt = lo;
+            int i = lo;
+            int gt = hi;
+            while (i <= gt) {
+                int cmp = sortList.compare(i, pivotSource, pivotDestination, pivotWeight);
+                if (cmp < 0) {
+                    if (lt != i) sortList.swap(lt, i);
+                    lt++;
+                    i++;
+                } else if (cmp > 0) {
+                    sortList.swap(i, gt--);
+                } else {
+                    i++;
+                }
+            }
+
+            if (lt - lo < hi - gt) { //Recurse into the smaller side so the stack stays O(log n)
+                introSort(sortList, lo, lt-1, depthLimit);
+                lo = gt+1;
+            } else {
+                introSort(sortList, gt+1, hi, depthLimit);
+                hi = lt-1;
+            }
+        }
+        insertionSort(sortList, lo, hi);
+    }
+
+    /**
+     * @return the index of the median of the first, middle and last edges, or of the ninther on large ranges
+     */
+    private static int choosePivot(EdgeArray sortList, int lo, int hi) {
+        int mid = (lo + hi) >>> 1;
+        if (hi - lo < NINTHER_THRESHOLD) {
+            return median(sortList, lo, mid, hi);
+        }
+        int step = (hi - lo) >>> 3;
+        return median(sortList,
+                median(sortList, lo, lo + step, lo + 2*step),
+                median(sortList, mid - step, mid, mid + step),
+                median(sortList, hi - 2*step, hi - step, hi));
+    }
+
+    /**
+     * @return whichever of the indices a, b and c holds the middle edge of the three
+     */
+    private static int median(EdgeArray sortList, int a, int b, int c) {
+        if (sortList.lessThan(a, b)) {
+            if (sortList.lessThan(b, c)) return b;
+            return sortList.lessThan(a, c) ? c : a;
+        }
+        if (sortList.lessThan(a, c)) return a;
+        return sortList.lessThan(b, c) ? c : b;
+    }
+
+    /**
+     * Heapsorts the range [lo, hi] with a max-heap rooted at lo
+     */
+    private static void heapSort(EdgeArray sortList, int lo, int hi) {
+        int size = hi - lo + 1;
+        for (int k = (size >>> 1) - 1; k >= 0; --k) {
+            siftDown(sortList, lo, k, size);
+        }
+        for (int end = size - 1; end > 0; --end) {
+            sortList.swap(lo, lo + end);
+            siftDown(sortList, lo, 0, end);
+        }
+    }
+
+    /**
+     * Moves the edge at heap position k down the max-heap of the given size that starts at index lo
+     */
+    private static void siftDown(EdgeArray sortList, int lo, int k, int size) {
+        int source = sortList.getSource(lo + k);
+        int destination = sortList.getDestination(lo + k);
+        int weight = sortList.getWeight(lo + k);
+        int child;
+        while ((child = 2*k + 1) < size) {
+            if (child+1 < size && sortList.lessThan(lo + child, lo + child+1)) {
+                child++;
+            }
+            if (sortList.compare(lo + child, source, destination, weight) <= 0) {
+                break;
+            }
+            sortList.copy(lo + child, lo + k);
+            k = child;
+        }
+        sortList.set(lo + k, source, destination, weight);
+    }
+
+    private static void insertionSort(EdgeArray sortList, int lo, int hi) {
+        int curSource, curDestination, curWeight;
+        for (int i = lo+1; i <= hi; ++i) {
+            curSource = sortList.getSource(i);
+            curDestination = sortList.getDestination(i);
+            curWeight = sortList.getWeight(i);
+            int j = i - 1;
+            while ((j >= lo) && (!sortList.lessThan(j, curSource, curDestination, curWeight))) {
+                sortList.copy(j, j+1);
+                j--;
+            }
+            sortList.set(j+1, curSource, curDestination, curWeight);
+        }
+    }
+}
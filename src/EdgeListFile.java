@@ -0,0 +1,216 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Reads a text edge list ("u v w" per line, vertices numbered from 0, non-negative integer weights) as exported by
+ * other graph tools. Blank lines and lines starting with # or % are skipped, and self loops are dropped.
+ * The file is memory-mapped and parsed byte by byte straight into an EdgeArray, without creating any Strings.
+ * Large files are split into newline-aligned chunks that are parsed on separate threads and merged in file order.
+ *
+ * @author Clay Benson
+ */
+public class EdgeListFile {
+
+    //Largest chunk mapped and parsed by one task (one mapping can't exceed 2GB)
+    private static final long MAX_CHUNK_BYTES = 1L << 30;
+
+    //Files smaller than this are parsed on the calling thread
+    private static final long PARALLEL_THRESHOLD_BYTES = 1L << 24;
+
+    private EdgeArray edges;
+    private int numVertices;
+
+    private EdgeListFile(EdgeArray edges, int numVertices) {
+        this.edges = edges;
+        this.numVertices = numVertices;
+    }
+
+    /**
+     * Every edge in the file, in file order, with source < destination
+     */
+    public EdgeArray getEdges() {
+        return edges;
+    }
+
+    /**
+     * One more than the largest vertex id in the file
+     */
+    public int getNumVertices() {
+        return numVertices;
+    }
+
+    /**
+     * Parses an edge list file
+     * @param path the file to read
+     * @param numThreads how many threads to parse large files with
+     * @throws IOException if the file can't be read or has a malformed line
+     */
+    public static EdgeListFile read(Path path, int numThreads) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            long chunkBytes = (size < PARALLEL_THRESHOLD_BYTES || numThreads < 2) ? size : (size + numThreads - 1) / numThreads;
+            chunkBytes = Math.max(1, Math.min(chunkBytes, MAX_CHUNK_BYTES));
+
+            //Cut the file into chunks that end right after a newline
+            List<long[]> chunks = new ArrayList<>();
+            long start = 0;
+            while (start < size) {
+                long end = findLineEnd(channel, Math.min(start + chunkBytes, size) - 1, size);
+                chunks.add(new long[]{start, end});
+                start = end;
+            }
+
+            List<EdgeArray> parsed = new ArrayList<>(chunks.size());
+            if (chunks.size() <= 1 || numThreads < 2) {
+                for (long[] chunk : chunks) {
+                    parsed.add(parseChunk(channel, chunk[0], chunk[1]));
+                }
+            } else {
+                ExecutorService pool = Executors.newFixedThreadPool(numThreads);
+                try {
+                    List<Future<EdgeArray>> results = new ArrayList<>(chunks.size());
+                    for (long[] chunk : chunks) {
+                        results.add(pool.submit(() -> parseChunk(channel, chunk[0], chunk[1])));
+                    }
+                    for (Future<EdgeArray> result : results) {
+                        parsed.add(result.get());
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IOException("Reading the edge list was interrupted", e);
+                } catch (ExecutionException e) {
+                    if (e.getCause() instanceof IOException) {
+                        throw (IOException) e.getCause();
+                    }
+                    throw new IllegalStateException("Edge list worker failed", e.getCause());
+                } finally {
+                    pool.shutdown();
+                }
+            }
+
+            int totalEdges = 0;
+            for (EdgeArray chunkEdges : parsed) {
+                totalEdges += chunkEdges.size();
+            }
+            EdgeArray edges = new EdgeArray(totalEdges);
+            int maxVertex = -1;
+            for (EdgeArray chunkEdges : parsed) { //Merge in file order
+                edges.addAll(chunkEdges);
+                for (int i = 0; i < chunkEdges.size(); ++i) {
+                    maxVertex = Math.max(maxVertex, chunkEdges.getDestination(i));
+                }
+            }
+            return new EdgeListFile(edges, maxVertex + 1);
+        }
+    }
+
+    /**
+     * @return the position just past the first newline at or after from (or size if there isn't one)
+     */
+    private static long findLineEnd(FileChannel channel, long from, long size) throws IOException {
+        ByteBuffer window = ByteBuffer.allocate(4096);
+        long position = from;
+        while (position < size) {
+            window.clear();
+            int read = channel.read(window, position);
+            if (read <= 0) {
+                break;
+            }
+            for (int i = 0; i < read; ++i) {
+                if (window.get(i) == '\n') {
+                    return position + i + 1;
+                }
+            }
+            position += read;
+        }
+        return size;
+    }
+
+    /**
+     * Parses the lines in [start, end) of the file. The range starts at a line start and ends after a newline (or at
+     * the end of the file).
+     */
+    private static EdgeArray parseChunk(FileChannel channel, long start, long end) throws IOException {
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, start, end - start);
+        int limit = buffer.limit();
+        EdgeArray edges = new EdgeArray(limit / 16 + 16); //Typical line length, the array grows if it's wrong
+        int[] fields = new int[3];
+        int pos = 0;
+        while (pos < limit) {
+            pos = skipBlanks(buffer, pos, limit);
+            if (pos >= limit) {
+                break;
+            }
+            byte b = buffer.get(pos);
+            if (b == '\n') { //Blank line
+                pos++;
+                continue;
+            }
+            if (b == '#' || b == '%') { //Comment line
+                while (pos < limit && buffer.get(pos) != '\n') {
+                    pos++;
+                }
+                continue;
+            }
+
+            for (int field = 0; field < 3; ++field) {
+                pos = skipBlanks(buffer, pos, limit);
+                long value = 0;
+                int digitsStart = pos;
+                while (pos < limit) {
+                    int digit = buffer.get(pos) - '0';
+                    if (digit < 0 || digit > 9) {
+                        break;
+                    }
+                    value = value*10 + digit;
+                    if (value > Integer.MAX_VALUE) {
+                        throw malformed(start, digitsStart, "number is too large");
+                    }
+                    pos++;
+                }
+                if (pos == digitsStart) {
+                    throw malformed(start, pos, "expected a non-negative integer");
+                }
+                fields[field] = (int) value;
+            }
+
+            pos = skipBlanks(buffer, pos, limit);
+            if (pos < limit) {
+                if (buffer.get(pos) != '\n') {
+                    throw malformed(start, pos, "expected 3 numbers per line");
+                }
+                pos++;
+            }
+
+            if (fields[0] != fields[1]) { //Drop self loops
+                edges.add(Math.min(fields[0], fields[1]), Math.max(fields[0], fields[1]), fields[2]);
+            }
+        }
+        return edges;
+    }
+
+    private static int skipBlanks(ByteBuffer buffer, int pos, int limit) {
+        while (pos < limit) {
+            byte b = buffer.get(pos);
+            if (b != ' ' && b != '\t' && b != '\r') {
+                break;
+            }
+            pos++;
+        }
+        return pos;
+    }
+
+    private static IOException malformed(long chunkStart, int pos, String problem) {
+        return new IOException(String.format("Malformed edge list at byte %d: %s", chunkStart + pos, problem));
+    }
+}
@@ -0,0 +1,217 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * LSD radix sort for edges, giving the same order as Edge.lessThan (weight, then source, then destination).
+ * Vertex ids and weights are bounded by n, so every key column is sorted with a few stable counting passes over
+ * 8 bit digits: destination digits first, then source, then weight. Passes whose digit is the same for every edge
+ * are skipped.
+ *
+ * @author Clay Benson
+ */
+public class EdgeRadixSort {
+
+    private static final int DIGIT_BITS = 8;
+    private static final int RADIX = 1 << DIGIT_BITS;
+    private static final int DIGIT_MASK = RADIX - 1;
+
+    /**
+     * Sorts the edges in place on the calling thread
+     * @param sortList the list to sort
+     * @return the sorted list
+     */
+    public static EdgeArray sort(EdgeArray sortList) {
+        int len = sortList.size();
+        if (len < 2) {
+            return sortList;
+        }
+        EdgeArray from = sortList;
+        EdgeArray to = new EdgeArray(sortList);
+        int[] count = new int[RADIX+1];
+
+        //Least significant column first
+        int[] maxValues = {max(sortList.getDestinations(), len), max(sortList.getSources(), len), max(sortList.getWeights(), len)};
+        for (int column = 0; column < maxValues.length; ++column) {
+            for (int shift = 0; shift < 32 && (maxValues[column] >>> shift) != 0; shift += DIGIT_BITS) {
+                int[] keys = columnOf(from, column);
+                Arrays.fill(count, 0);
+                for (int i = 0; i < len; ++i) { //Fill count array
+                    count[((keys[i] >>> shift) & DIGIT_MASK) + 1]++;
+                }
+                if (isSingleBucket(count, len)) {
+                    continue;
+                }
+                for (int d = 0; d < RADIX; ++d) { //Cumulative sum
+                    count[d+1] += count[d];
+                }
+                scatter(from, to, keys, shift, count, 0, len);
+                EdgeArray tmp = from;
+                from = to;
+                to = tmp;
+            }
+        }
+
+        if (from != sortList) { //The last pass left the result in the scratch copy
+            sortList.swapContents(from);
+        }
+        return sortList;
+    }
+
+    /**
+     * Sorts the edges in place, splitting every pass across threads. Each thread builds a histogram of its own chunk,
+     * the histograms are combined into per-thread bucket offsets (bucket major, thread minor, so the sort stays
+     * stable), and then every thread scatters its chunk independently.
+     * @param sortList the list to sort
+     * @param numThreads how many threads to use
+     * @return the sorted list
+     */
+    public static EdgeArray parallelSort(EdgeArray sortList, int numThreads) {
+        int len = sortList.size();
+        if (numThreads < 2 || len < numThreads * RADIX) {
+            return sort(sortList);
+        }
+        ExecutorService pool = Executors.newFixedThreadPool(numThreads);
+        try {
+            EdgeArray from = sortList;
+            EdgeArray to = new EdgeArray(sortList);
+            int[][] counts = new int[numThreads][RADIX+1];
+            int[] chunkStart = new int[numThreads+1];
+            for (int t = 0; t <= numThreads; ++t) {
+                chunkStart[t] = (int) ((long) len * t / numThreads);
+            }
+
+            int[] maxValues = {max(sortList.getDestinations(), len), max(sortList.getSources(), len), max(sortList.getWeights(), len)};
+            for (int column = 0; column < maxValues.length; ++column) {
+                for (int shift = 0; shift < 32 && (maxValues[column] >>> shift) != 0; shift += DIGIT_BITS) {
+                    final int[] keys = columnOf(from, column);
+                    final int passShift = shift;
+
+                    //Per-thread histograms
+                    List<Callable<Void>> tasks = new ArrayList<>(numThreads);
+                    for (int t = 0; t < numThreads; ++t) {
+                        final int[] count = counts[t];
+                        final int lo = chunkStart[t];
+                        final int hi = chunkStart[t+1];
+                        tasks.add(() -> {
+                            Arrays.fill(count, 0);
+                            for (int i = lo; i < hi; ++i) {
+                                count[(keys[i] >>> passShift) & DIGIT_MASK]++;
+                            }
+                            return null;
+                        });
+                    }
+                    runAll(pool, tasks);
+
+                    //Turn the histograms into the starting position of every (bucket, thread) pair
+                    int next = 0;
+                    boolean singleBucket = false;
+                    for (int d = 0; d < RADIX; ++d) {
+                        int bucketTotal = 0;
+                        for (int t = 0; t < numThreads; ++t) {
+                            int c = counts[t][d];
+                            counts[t][d] = next;
+                            next += c;
+                            bucketTotal += c;
+                        }
+                        if (bucketTotal == len) {
+                            singleBucket = true;
+                        }
+                    }
+                    if (singleBucket) {
+                        continue;
+                    }
+
+                    //Parallel scatter
+                    tasks.clear();
+                    final EdgeArray source = from;
+                    final EdgeArray target = to;
+                    for (int t = 0; t < numThreads; ++t) {
+                        final int[] count = counts[t];
+                        final int lo = chunkStart[t];
+                        final int hi = chunkStart[t+1];
+                        tasks.add(() -> {
+                            scatter(source, target, keys, passShift, count, lo, hi);
+                            return null;
+                        });
+                    }
+                    runAll(pool, tasks);
+                    EdgeArray tmp = from;
+                    from = to;
+                    to = tmp;
+                }
+            }
+
+            if (from != sortList) {
+                sortList.swapContents(from);
+            }
+            return sortList;
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Moves the edges in [lo, hi) of one array to their bucket positions in another
+     * @param count the next free position of every bucket, advanced as edges are placed
+     */
+    private static void scatter(EdgeArray from, EdgeArray to, int[] keys, int shift, int[] count, int lo, int hi) {
+        int[] fromSources = from.getSources();
+        int[] fromDestinations = from.getDestinations();
+        int[] fromWeights = from.getWeights();
+        int[] toSources = to.getSources();
+        int[] toDestinations = to.getDestinations();
+        int[] toWeights = to.getWeights();
+        for (int i = lo; i < hi; ++i) {
+            int pos = count[(keys[i] >>> shift) & DIGIT_MASK]++;
+            toSources[pos] = fromSources[i];
+            toDestinations[pos] = fromDestinations[i];
+            toWeights[pos] = fromWeights[i];
+        }
+    }
+
+    private static int[] columnOf(EdgeArray edges, int column) {
+        switch (column) {
+            case 0: return edges.getDestinations();
+            case 1: return edges.getSources();
+            default: return edges.getWeights();
+        }
+    }
+
+    private static boolean isSingleBucket(int[] count, int len) {
+        for (int c : count) {
+            if (c == len) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static int max(int[] values, int len) {
+        int max = 0;
+        for (int i = 0; i < len; ++i) {
+            if (values[i] > max) {
+                max = values[i];
+            }
+        }
+        return max;
+    }
+
+    private static void runAll(ExecutorService pool, List<Callable<Void>> tasks) {
+        try {
+            for (Future<Void> result : pool.invokeAll(tasks)) {
+                result.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Radix sort was interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Radix sort worker failed", e.getCause());
+        }
+    }
+}
@@ -1,38 +1,162 @@
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Path;
 import java.util.ArrayList;
-import java.util.Collections;
-import java.util.HashMap;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.List;
 import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.UnaryOperator;
 
 /**
  * Holds multiple representations of an undirected weighted graph.
- * Uses an Adjacency Matrix and an Adjacency Array
+ * Uses an Adjacency Matrix and an Adjacency List (stored in compressed sparse row form)
  * @author Clay Benson
  */
 public class Graph {
 
-    private ArrayList<ArrayList<Integer>> adjMatrix;
-    private ArrayList<ArrayList<ArrayList<Integer>>> adjList;
-    private ArrayList<Integer> visitedList;
-    private HashMap<Integer, Integer> predecessors;
+    /**
+     * How initAdjacencies draws the edges of the graph.
+     * DENSE flips a coin for every vertex pair, SPARSE jumps straight from one created edge to the next with
+     * geometrically distributed skips, and AUTO uses SPARSE only below SPARSE_GENERATION_P.
+     * Both are deterministic for a given seed, but they give different graphs for the same (n, seed, p).
+     * SPARSE is for graphs far too big for an adjacency matrix, so it builds only the list (O(n + m)) and the matrix
+     * runs are skipped. That includes AUTO when it picks SPARSE.
+     */
+    public enum GenerationMode { DENSE, SPARSE, AUTO }
+
+    /**
+     * Which IndexedPriorityQueue prim uses. BINARY is the indexed binary heap (PriorityQueue), DARY4 and DARY8 are
+     * 4-ary and 8-ary heaps (DaryHeap), PAIRING is the pairing heap (PairingHeap), and BUCKET is the bucket queue
+     * (BucketPriorityQueue), which suits the small integer weights initAdjacencies draws (1 to n).
+     */
+    public enum PrimQueue { BINARY, DARY4, DARY8, PAIRING, BUCKET }
+
+    /**
+     * The MST algorithms generate and load can run. KRUSKAL is the sort then scan runs (one per sort), the others run
+     * once per representation. Only KRUSKAL and PRIM run by default; the rest are picked with setAlgorithms.
+     */
+    public enum Algorithm { KRUSKAL, PRIM, FILTER_KRUSKAL, LAZY_KRUSKAL, BORUVKA }
+
+    /**
+     * The sorts the KRUSKAL runs sort the edges with before scanning them, one run (and report section) each
+     */
+    public enum KruskalSort { INSERTION, COUNT, QUICK, PARALLEL_QUICK, RADIX }
+
+    /**
+     * One entry of the report (for example KRUSKAL WITH LIST USING QUICKSORT) when the pipelines run concurrently.
+     * The task copies the frozen edges (if any), sorts the copy (if there is a sort step), finds the MST, and keeps the
+     * results so they can be printed in report order once every task is done.
+     */
+    private static class Pipeline {
+        String algorithm;
+        String source;
+        String sortType;    //null for the entries printed with printPrimHeader
+        String method;      //Name printed with the total weight
+        EdgeArray edges;    //Frozen edges the pipeline starts from, or null if it reads the CSR arrays directly
+        UnaryOperator<EdgeArray> sort; //null if there is no separate sort step
+        UnaryOperator<EdgeArray> mst;
+        Pipeline speedupBaseline; //The sequential sort this one's speedup is printed against, or null
+
+        EdgeArray result;
+        long sortNanos;
+        long runtimeMillis;
+
+        Pipeline(String algorithm, String source, String sortType, String method, EdgeArray edges,
+                 UnaryOperator<EdgeArray> sort, UnaryOperator<EdgeArray> mst) {
+            this.algorithm = algorithm;
+            this.source = source;
+            this.sortType = sortType;
+            this.method = method;
+            this.edges = edges;
+            this.sort = sort;
+            this.mst = mst;
+        }
+
+        void run() {
+            long start = System.currentTimeMillis();
+            EdgeArray working = (edges != null) ? new EdgeArray(edges) : null;
+            if (sort != null) {
+                long sortStart = System.nanoTime();
+                working = sort.apply(working);
+                sortNanos = System.nanoTime() - sortStart;
+            }
+            result = mst.apply(working);
+            runtimeMillis = System.currentTimeMillis() - start;
+        }
+    }
+
+    private AdjacencyMatrix adjMatrix;
+    private CSRGraph adjList;
+    private long[] visited; //Bitset of the vertices the last DFS reached
+    private int visitedCount;
+    private int[] predecessors;
+    private DisjointSet generationSets; //Components of the graph being generated
+    private StreamingMST streamingMST; //Receives the generated edges instead of the matrix and list when streaming
     private int numEdges;
     private int numVertices;
     private Random edgeGen;
     private Random weightGen;
-    private ArrayList<Edge> matrixEdges;
-    private ArrayList<Edge> listEdges;
+    private EdgeArray matrixEdges;
+    private EdgeArray listEdges;
     private long start_time;
+    private GenerationMode generationMode;
+    private long seed;
+    private int generationThreads;
+    private Path saveGraphPath; //Where to save the generated graph, or null
+    private PrintStream out; //Where the report is printed
+    private int pipelineThreads;
+    private PrimQueue primQueue;
+    private EnumSet<Algorithm> algorithms;
+    private EnumSet<KruskalSort> sorts; //null for the default
+    private EnumSet<KruskalSort> runSorts; //The sorts the current run uses
 
     //Copies of the edge lists after they're insertion sorted
-    private ArrayList<Edge> insertionSorted_listEdges;
-    private ArrayList<Edge> insertionSorted_matrixEdges;
+    private EdgeArray insertionSorted_listEdges;
+    private EdgeArray insertionSorted_matrixEdges;
 
     //Copies of the edge lists after they're count sorted
-    private ArrayList<Edge> countSorted_listEdges;
-    private ArrayList<Edge> countSorted_matrixEdges;
+    private EdgeArray countSorted_listEdges;
+    private EdgeArray countSorted_matrixEdges;
 
     //Copies of the edge lists after they're quick sorted
-    private ArrayList<Edge> quickSorted_listEdges;
-    private ArrayList<Edge> quickSorted_matrixEdges;
+    private EdgeArray quickSorted_listEdges;
+    private EdgeArray quickSorted_matrixEdges;
+
+    //Copies of the edge lists after they're quick sorted in parallel
+    private EdgeArray parallelQuickSorted_listEdges;
+    private EdgeArray parallelQuickSorted_matrixEdges;
+
+    //Copies of the edge lists after they're radix sorted
+    private EdgeArray radixSorted_listEdges;
+    private EdgeArray radixSorted_matrixEdges;
+
+    //Filter-Kruskal sorts and scans ranges this small directly instead of partitioning them further
+    private static final int FILTER_KRUSKAL_THRESHOLD = 64;
+
+    //AUTO generation switches to geometric skipping below this edge probability
+    private static final double SPARSE_GENERATION_P = 0.1;
+
+    //Smallest number of edges StreamingMST buffers between compactions
+    private static final int STREAMING_BUFFER_SIZE = 1 << 20;
+
+    //Edge lists at least this long are radix sorted on every core
+    private static final int PARALLEL_RADIX_THRESHOLD = 1 << 20;
+
+    //Above this many edges, insertion sort (O(m^2)) only runs if it was chosen explicitly
+    private static final int INSERTION_SORT_MAX_EDGES = 1 << 16;
+
+    //By default count sort only runs if the largest weight is at most this many times the number of edges (or at most
+    //COUNT_SORT_MIN_RANGE), since its count array has one entry per weight value
+    private static final int COUNT_SORT_RANGE_PER_EDGE = 4;
+    private static final int COUNT_SORT_MIN_RANGE = 1 << 20;
+
+    //Largest weight a bucket queue is built for (one bucket per weight); heavier graphs fall back to the binary heap
+    private static final int BUCKET_QUEUE_MAX_KEY = 1 << 24;
 
 
     private boolean print_info;
@@ -48,6 +172,85 @@ public class Graph {
         edgeGen.setSeed(seed);
         weightGen.setSeed(seed*2);
         numEdges = 0;
+        generationMode = GenerationMode.DENSE;
+        this.seed = seed;
+        generationThreads = 0;
+        out = System.out;
+        primQueue = PrimQueue.BINARY;
+        algorithms = EnumSet.of(Algorithm.KRUSKAL, Algorithm.PRIM);
+        sorts = null;
+    }
+
+    /**
+     * Chooses how the graph's edges are drawn (DENSE by default, which is what every existing test output uses)
+     * @param generationMode the generation mode to use for the next call to generate
+     */
+    public void setGenerationMode(GenerationMode generationMode) {
+        this.generationMode = generationMode;
+    }
+
+    /**
+     * Switches generation to ParallelGraphGenerator, which draws every column from its own seeded generator so the
+     * same (n, seed, p) gives the same graph for any thread count. The default, 0, keeps the original single-stream
+     * generator (whose graphs the parallel one doesn't reproduce).
+     * @param generationThreads how many threads to generate with, or 0 for the original generator
+     */
+    public void setGenerationThreads(int generationThreads) {
+        this.generationThreads = generationThreads;
+    }
+
+    /**
+     * Makes generate save the adjacency list to a binary graph file (see GraphFile) as soon as it's generated, so
+     * later runs can load it instead of generating it again
+     * @param saveGraphPath the file to write, or null to not save
+     */
+    public void setSaveGraphPath(Path saveGraphPath) {
+        this.saveGraphPath = saveGraphPath;
+    }
+
+    /**
+     * Sends everything this graph prints to another stream (System.out by default), so several graphs can run at once
+     * without their reports interleaving
+     * @param out the stream to print to
+     */
+    public void setOutput(PrintStream out) {
+        this.out = out;
+    }
+
+    /**
+     * Chooses the priority queue prim runs on (BINARY by default)
+     * @param primQueue the queue implementation to use
+     */
+    public void setPrimQueue(PrimQueue primQueue) {
+        this.primQueue = primQueue;
+    }
+
+    /**
+     * Chooses which MST algorithms generate and load run (KRUSKAL and PRIM by default). The report keeps its usual
+     * order, with the algorithms that weren't chosen left out.
+     * @param algorithms the algorithms to run
+     */
+    public void setAlgorithms(EnumSet<Algorithm> algorithms) {
+        this.algorithms = EnumSet.copyOf(algorithms);
+    }
+
+    /**
+     * Chooses which sorts the KRUSKAL runs use, so a saved graph can be rerun with just the sort being studied. By
+     * default all of them run, except insertion sort on graphs with more than INSERTION_SORT_MAX_EDGES edges and count
+     * sort on graphs whose weights are spread far wider than their edge count.
+     * @param sorts the sorts to run Kruskal after
+     */
+    public void setSorts(EnumSet<KruskalSort> sorts) {
+        this.sorts = EnumSet.copyOf(sorts);
+    }
+
+    /**
+     * Runs the chosen MST pipelines concurrently once the graph is built (see runPipelinesConcurrently). The report
+     * is the same, in the same order, as running them one after another.
+     * @param pipelineThreads how many pipelines to run at once, or 0 to run them one after another
+     */
+    public void setPipelineThreads(int pipelineThreads) {
+        this.pipelineThreads = pipelineThreads;
     }
 
     /**
@@ -56,118 +259,277 @@ public class Graph {
      * @param p the probability that any specific edge will be created
      */
     public void generate(int n, double p) {
-        numVertices = n;
         print_info = (n < 10);
         initAdjacencies(n, p);
+        out.println(String.format("Time to generate the graph: %d milliseconds",System.currentTimeMillis()-start_time));
+        if (adjMatrix == null && !isSparse(p)) {
+            out.println(String.format("A %d vertex adjacency matrix is too large to store, so only the list runs", n));
+        }
+        if (saveGraphPath != null) {
+            try {
+                GraphFile.write(adjList, saveGraphPath);
+            } catch (IOException e) {
+                out.println(String.format("Could not save the graph to %s: %s", saveGraphPath, e.getMessage()));
+            }
+        }
 
         if (print_info) {
-            printAdjacencyMatrix();
+            DFS(0, n); //Connectivity is already known, this is just for the printed search
+            if (adjMatrix != null) {
+                printAdjacencyMatrix();
+            }
             printAdjacencyList();
             printDFSInformation();
         }
 
-        runMatrixAlgorithms();
-        runListAlgorithms();
-        runPrimAlgorithm();
+        runAlgorithms();
     }
 
     /**
-     * Uses count sourt to sort a list of edge objects
-     * @param sortList the list to sort
+     * Runs the list based algorithms on a graph that was loaded instead of generated (a memory-mapped GraphFile or a
+     * parsed EdgeListFile), saving it first if a save path was set. There is no adjacency matrix, so the matrix runs
+     * are skipped, and Prim and Boruvka read the loaded arrays directly.
+     * @param graph the graph to run on
      */
-    public ArrayList<Edge> edgeCountSort(ArrayList<Edge> sortList) {
-        int len = sortList.size();
-        int r = edgeWeightMax(sortList)+1; //0 to 5, r = 6
-        ArrayList<Edge> aux = new ArrayList<>();
-        ArrayList<Integer> count = new ArrayList<>();
-        for (int i = 0; i < r+1; i++) { //Add R+1 elements
-            count.add(0);
-        }
-        for (int i = 0; i < len; i++) { //Make aux same size as sortList
-            aux.add(new Edge()); //Blank edges (0,0,0)
+    public void load(CSRGraph graph) {
+        adjList = graph;
+        adjMatrix = null;
+        numVertices = graph.getNumVertices();
+        numEdges = graph.getNumEdges();
+        print_info = (numVertices < 10);
+        if (saveGraphPath != null) {
+            try {
+                GraphFile.write(adjList, saveGraphPath);
+            } catch (IOException e) {
+                out.println(String.format("Could not save the graph to %s: %s", saveGraphPath, e.getMessage()));
+            }
         }
 
-        for (int i = 0; i < len; i++) { //Fill count array
-            count.set(sortList.get(i).getWeight()+1,count.get(sortList.get(i).getWeight()+1)+1); //count[[sortList]+1}++
+        if (print_info) {
+            DFS(0, numVertices);
+            printAdjacencyList();
+            printDFSInformation();
         }
 
+        runAlgorithms();
+    }
 
-        for (int i = 0; i < r; i++) { //Cumulative sum
-            count.set(i+1,count.get(i+1)+count.get(i));
+    /**
+     * Runs the chosen MST algorithms on the built or loaded graph, one after another or concurrently. The matrix
+     * runs are skipped when there is no adjacency matrix, and so are insertion sort on big graphs and count sort on
+     * widely spread weights unless they were chosen. Count sort is always skipped if its count array can't fit.
+     */
+    private void runAlgorithms() {
+        runSorts = (sorts != null) ? EnumSet.copyOf(sorts) : EnumSet.allOf(KruskalSort.class);
+        if (algorithms.contains(Algorithm.KRUSKAL)) {
+            if (sorts == null && numEdges > INSERTION_SORT_MAX_EDGES) {
+                runSorts.remove(KruskalSort.INSERTION);
+                out.println(String.format("Skipping INSERTION SORT: %d edges is more than %d (choose it with --sorts to run it anyway)",
+                        numEdges, INSERTION_SORT_MAX_EDGES));
+            }
+            if (runSorts.contains(KruskalSort.COUNT)) {
+                //Count sort needs a counter per weight value, which real graphs' weights can make huge
+                long maxWeight = adjList.getMaxWeight();
+                long countBytes = 4 * (maxWeight + 2);
+                if (maxWeight + 2 > Integer.MAX_VALUE - 8 || countBytes > Runtime.getRuntime().maxMemory() / 4) {
+                    runSorts.remove(KruskalSort.COUNT);
+                    out.println(String.format("Skipping COUNT SORT: weights up to %d need a %d entry count array, more than the heap can hold",
+                            maxWeight, maxWeight + 2));
+                } else if (sorts == null && maxWeight > Math.max((long) COUNT_SORT_RANGE_PER_EDGE * numEdges, COUNT_SORT_MIN_RANGE)) {
+                    runSorts.remove(KruskalSort.COUNT);
+                    out.println(String.format("Skipping COUNT SORT: weights up to %d are too spread out for %d edges (choose it with --sorts to run it anyway)",
+                            maxWeight, numEdges));
+                }
+            }
+        }
+        if (pipelineThreads > 0) {
+            runPipelinesConcurrently();
+            return;
+        }
+        if (algorithms.contains(Algorithm.KRUSKAL)) {
+            if (adjMatrix != null) {
+                runMatrixAlgorithms();
+            }
+            runListAlgorithms();
         }
+        if (algorithms.contains(Algorithm.PRIM)) {
+            runPrimAlgorithm();
+        }
+        if (algorithms.contains(Algorithm.FILTER_KRUSKAL)) {
+            runFilterKruskalAlgorithm();
+        }
+        if (algorithms.contains(Algorithm.LAZY_KRUSKAL)) {
+            runLazyKruskalAlgorithm();
+        }
+        if (algorithms.contains(Algorithm.BORUVKA)) {
+            runBoruvkaAlgorithm();
+        }
+    }
 
+    /**
+     * Finds the MST of the random graph without ever storing the graph. Generated edges go straight into a
+     * StreamingMST (batched Kruskal with O(n) state), so instances whose edge sets don't fit in the heap still get the
+     * same tree, and total, as kruskal. Uses the same generators as generate, so the graph is the same one generate
+     * would build for this (n, seed, p).
+     * @param n the number of vertices in the graph
+     * @param p the probability that any specific edge will be created
+     */
+    public void generateStreaming(int n, double p) {
+        numVertices = n;
+        print_info = (n < 10);
+        boolean sparse = isSparse(p);
+        streamingMST = new StreamingMST(n, Math.max(n, STREAMING_BUFFER_SIZE));
 
-        for (int i = 0; i < len; i++) { //Find correct location in aux
-            aux.set(count.get(sortList.get(i).getWeight()),sortList.get(i));
-            count.set(sortList.get(i).getWeight(),count.get(sortList.get(i).getWeight())+1);
+        startTimer();
+        long phaseStart = Metrics.startPhase(); //Generating and streaming the edges into the MST can't be told apart
+        EdgeArray streamedMST;
+        do {
+            if (Metrics.ENABLED) Metrics.add(Metrics.Counter.GENERATION_ATTEMPTS, 1);
+            streamingMST.reset();
+            numEdges = 0;
+            if (sparse) {
+                generateSparseEdges(n, p, null);
+            } else {
+                generateDenseEdges(n, p, null);
+            }
+            streamedMST = streamingMST.finish();
+        } while (streamedMST.size() == 0); //While the graph is not connected, keep making more graphs
+        streamingMST = null;
+        Metrics.endPhase(Metrics.Phase.GENERATE, phaseStart);
+
+        printHeader("KRUSKAL", "STREAMED EDGES", "BATCHED RADIX SORT");
+        printEdgeList(streamedMST);
+        printEdgeWeightSum(streamedMST,"Kruskal");
+        stopTimer();
+    }
+
+    /**
+     * Uses count sourt to sort a list of edges by weight (stable, so edges with equal weights keep their order)
+     * @param sortList the list to sort
+     */
+    public EdgeArray edgeCountSort(EdgeArray sortList) {
+        long phaseStart = Metrics.startPhase();
+        int len = sortList.size();
+        int r = sortList.getMaxWeight()+1; //0 to 5, r = 6
+        EdgeArray aux = new EdgeArray(sortList); //Copy of the unsorted edges to scatter back from
+        int[] count = new int[r+1];
+
+        for (int i = 0; i < len; i++) { //Fill count array
+            count[aux.getWeight(i)+1]++;
         }
 
-        for (int i = 0; i < len; i++) { //Copy back to sortList
-            sortList.set(i, aux.get(i));
+        for (int i = 0; i < r; i++) { //Cumulative sum
+            count[i+1] += count[i];
         }
 
+        for (int i = 0; i < len; i++) { //Find correct location in sortList
+            int weight = aux.getWeight(i);
+            sortList.set(count[weight]++, aux.getSource(i), aux.getDestination(i), weight);
+        }
+
+        Metrics.endPhase(Metrics.Phase.SORT, phaseStart);
         return sortList;
 
     }
 
     /**
-     * Quick sort function
+     * Uses LSD radix sort to sort a list of edges by weight, source and destination (same order as Edge.lessThan).
+     * Large lists are sorted with one thread per available core.
+     * @param sortList the list to sort
+     */
+    public EdgeArray edgeRadixSort(EdgeArray sortList) {
+        long phaseStart = Metrics.startPhase();
+        int numThreads = Runtime.getRuntime().availableProcessors();
+        if (sortList.size() >= PARALLEL_RADIX_THRESHOLD && numThreads > 1) {
+            EdgeRadixSort.parallelSort(sortList, numThreads);
+        } else {
+            EdgeRadixSort.sort(sortList);
+        }
+        Metrics.endPhase(Metrics.Phase.SORT, phaseStart);
+        return sortList;
+    }
+
+    /**
+     * Quick sort function (an introsort, see EdgeIntroSort, so presorted input and runs of equal keys stay
+     * O(n log n) and the recursion stays O(log n) deep)
      * @param sortList the list to sort
      * @param lo the low index of the section
      * @param hi the high index of the section
      */
-    public ArrayList<Edge> edgeQuickSort(ArrayList<Edge> sortList, int lo, int hi) {
-        if (lo < hi) {
-            int j = partition(sortList, lo, hi);
-            edgeQuickSort(sortList, lo, j-1);
-            edgeQuickSort(sortList, j+1, hi);
-        }
+    public EdgeArray edgeQuickSort(EdgeArray sortList, int lo, int hi) {
+        long phaseStart = Metrics.startPhase();
+        quickSort(sortList, lo, hi);
+        Metrics.endPhase(Metrics.Phase.SORT, phaseStart);
+        return sortList;
+    }
+
+    /**
+     * Untimed body of edgeQuickSort
+     */
+    private void quickSort(EdgeArray sortList, int lo, int hi) {
+        EdgeIntroSort.sort(sortList, lo, hi);
+    }
+
+    /**
+     * Quick sort that sorts large partitions in parallel on the common fork/join pool
+     * @param sortList the list to sort
+     */
+    public EdgeArray edgeParallelQuickSort(EdgeArray sortList) {
+        long phaseStart = Metrics.startPhase();
+        ParallelEdgeQuickSort.sort(sortList);
+        Metrics.endPhase(Metrics.Phase.SORT, phaseStart);
         return sortList;
     }
 
     /**
-     * Function used by edgeQuickSort to partition the ArrayList of edges
+     * Function used by filterKruskal to partition the list of edges
      * @param partitionList the list to partition
      * @param lo the low index of the section
      * @param hi the high index of the section
      * @return the pivot index
      */
-    private int partition(ArrayList<Edge> partitionList, int lo, int hi) {
+    private int partition(EdgeArray partitionList, int lo, int hi) {
         int i = lo;
         int j = hi + 1;
 
         while (true) {
-            while (partitionList.get(++i).lessThan(partitionList.get(lo))) {
+            while (partitionList.lessThan(++i, lo)) {
                 if (i == hi) break;
             }
-            while (partitionList.get(lo).lessThan(partitionList.get(--j))) {
+            while (partitionList.lessThan(lo, --j)) {
                 if (j == lo) break;
             }
 
             if (i >= j) break;
-            swapEdges(partitionList, i, j);
+            partitionList.swap(i, j);
         }
 
 
-        swapEdges(partitionList, lo, j);
+        partitionList.swap(lo, j);
         return j;
     }
 
     public void printHeader(String algorithm, String listType, String sortType) {
-        System.out.println("===================================");
-        System.out.println(String.format("%s WITH %s USING %s",algorithm,listType,sortType));
+        long phaseStart = Metrics.startPhase();
+        out.println("===================================");
+        out.println(String.format("%s WITH %s USING %s",algorithm,listType,sortType));
+        Metrics.endPhase(Metrics.Phase.PRINT, phaseStart);
     }
 
     public void printPrimHeader(String algorithm, String listType) {
-        System.out.println("===================================");
-        System.out.println(String.format("%s WITH %s",algorithm,listType));
+        long phaseStart = Metrics.startPhase();
+        out.println("===================================");
+        out.println(String.format("%s WITH %s",algorithm,listType));
+        Metrics.endPhase(Metrics.Phase.PRINT, phaseStart);
     }
 
     /**
      * Performs an insertion sort on the given list and prints out the necessary information
      * @param sortList the list to do the sort on
      */
-    public ArrayList<Edge> edgeInsertionSort(ArrayList<Edge> sortList) {
+    public EdgeArray edgeInsertionSort(EdgeArray sortList) {
+        long phaseStart = Metrics.startPhase();
+        long moves = 0;
         int i, j;
         int len = sortList.size();
 
@@ -179,8 +541,8 @@ public class Graph {
          */
 //        for (i = 1; i < len; ++i) {
 //            j = i;
-//            while ((j > 0) && (sortList.get(j-1).greaterThan(sortList.get(j)))) {
-//                swapEdges(sortList, j, j-1);
+//            while ((j > 0) && (!sortList.lessThan(j-1, j))) {
+//                sortList.swap(j, j-1);
 //                j--;
 //            }
 //        }
@@ -193,139 +555,233 @@ public class Graph {
          *
          * With about 300 items, this will run in about 1 second (on my computer)
          */
+        int curSource, curDestination, curWeight;
         for (i = 1; i < len; ++i) {
-            Edge curEdge = new Edge(sortList.get(i));
+            curSource = sortList.getSource(i);
+            curDestination = sortList.getDestination(i);
+            curWeight = sortList.getWeight(i);
             j = i - 1;
-            while ((j >= 0) && (sortList.get(j).greaterThan(curEdge))) {
-                sortList.set(j+1, sortList.get(j) ); //sortList[j+1] = sortList[j], move element up 1
+            while ((j >= 0) && (!sortList.lessThan(j, curSource, curDestination, curWeight))) {
+                sortList.copy(j, j+1); //sortList[j+1] = sortList[j], move element up 1
                 j--;
+                moves++;
             }
-            sortList.set(j+1, curEdge);
+            sortList.set(j+1, curSource, curDestination, curWeight);
         }
 
+        if (Metrics.ENABLED) Metrics.add(Metrics.Counter.INSERTION_MOVES, moves);
+        Metrics.endPhase(Metrics.Phase.SORT, phaseStart);
         return sortList;
     }
 
     /**
-     * Swaps 2 edge objects by their indeces
-     * @param swapList the list to perform the swap on
-     * @param pos1 index 1 of an element to swap
-     * @param pos2 index 2 of the other element to swap
+     * Prints how much faster the parallel quicksort was than the sequential one (sort phase only)
+     * @param sequentialNanos how long edgeQuickSort took
+     * @param parallelNanos how long edgeParallelQuickSort took
      */
-    private void swapEdges(ArrayList<Edge> swapList, int pos1, int pos2) {
-        Edge item1 = new Edge(swapList.get(pos1));
-        Edge item2 = new Edge(swapList.get(pos2));
-        swapList.set(pos1,item2);
-        swapList.set(pos2,item1);
+    private void printSortSpeedup(long sequentialNanos, long parallelNanos) {
+        out.println(String.format("Speedup over QUICKSORT: %.2fx (%.3f ms vs %.3f ms)",
+                (double) sequentialNanos / Math.max(parallelNanos, 1),
+                sequentialNanos / 1e6,
+                parallelNanos / 1e6));
     }
 
     /**
-     * Sums the weights of all the Edge objects in an ArrayList of Edge objects
-     * @param sumList the list of Edge objects whose weights to sum
+     * Sums the weights of all the edges in a list of edges
+     * @param sumList the list of edges whose weights to sum
      */
-    private void printEdgeWeightSum(ArrayList<Edge> sumList, String method) {
-        int sum = 0;
-        for (Edge eachEdge : sumList) {
-            sum = sum + eachEdge.getWeight();
-        }
-        System.out.println(String.format("\nTotal weight of MST using %s: %d",method,sum));
+    private void printEdgeWeightSum(EdgeArray sumList, String method) {
+        long phaseStart = Metrics.startPhase();
+        out.println(String.format("\nTotal weight of MST using %s: %d",method,sumList.getWeightSum()));
+        Metrics.endPhase(Metrics.Phase.PRINT, phaseStart);
     }
 
     /**
-     * Returns the largest weight in a list of Edge objects
-     * @param maxList the list to check the max weight of
-     * @return the max weight
-     */
-    private int edgeWeightMax(ArrayList<Edge> maxList) {
-        int max = 0;
-        for (Edge eachEdge : maxList) {
-            if (eachEdge.getWeight() > max) {
-                max = eachEdge.getWeight();
-            }
-        }
-        return max;
-    }
-
-    /**
-     * Prints a proper listing of edges, given an ArrayList of Edge objects
+     * Prints a proper listing of edges, given a list of edges
      * @param printList the list to print
      */
-    private void printEdgeList(ArrayList<Edge> printList) {
+    private void printEdgeList(EdgeArray printList) {
+        long phaseStart = Metrics.startPhase();
         if (print_info) {
-            for (Edge eachEdge : printList) {
-                System.out.println(String.format("%d %d weight = %d", eachEdge.getSourceVertex(), eachEdge.getDestinationVertex(), eachEdge.getWeight()));
+            for (int i = 0; i < printList.size(); ++i) {
+                out.println(String.format("%d %d weight = %d", printList.getSource(i), printList.getDestination(i), printList.getWeight(i)));
             }
         }
+        Metrics.endPhase(Metrics.Phase.PRINT, phaseStart);
     }
 
     /**
      * Creates a randomly connected, undirected, weighted graph.
-     * Is represented as both an Adjacency Matrix and an Adjacency List.
+     * Is represented as both an Adjacency Matrix and an Adjacency List (only the list for sparse generation, or if the
+     * matrix wouldn't fit).
      * @param n the number of vertices in the graph
      * @param p the probability (0 to 1) that any given edge will be created between 2 nodes
      */
-    private void initAdjacencies(int n, double p) {
+    void initAdjacencies(int n, double p) {
+        long phaseStart = Metrics.startPhase();
+        numVertices = n;
+        boolean sparse = isSparse(p);
+        int attempt = 0;
+
+        //Initialize the matrix to all zeroes to begin (weights are 1 to n). Retries clear and reuse these buffers.
+        //Sparse graphs, and graphs too big for a matrix, are only built as a list, and the matrix runs are skipped.
+        boolean buildMatrix = !sparse && AdjacencyMatrix.fits(n, n);
+        adjMatrix = null;
+        if (buildMatrix) {
+            try {
+                adjMatrix = new AdjacencyMatrix(n, n);
+            } catch (OutOfMemoryError e) { //fits is only an estimate, so fall back to the list if the heap is short
+                adjMatrix = null;
+            }
+        }
+        EdgeArray generatedEdges = new EdgeArray(16);
+        generationSets = new DisjointSet(n);
+
         startTimer(); //Start up here, or below?
         do {
             startTimer();
-
-            //Initialize the matrix to all zeroes to begin
-            adjMatrix = new ArrayList<>(); //ArrayList of ArrayLists
-            adjList = new ArrayList<>(); //ArrayList of ArrayLists of ArrayLists
+            if (attempt > 0) {
+                if (adjMatrix != null) {
+                    adjMatrix.clear();
+                }
+                generatedEdges.clear();
+                generationSets.reset();
+            }
             numEdges = 0;
-            for (int i = 0; i < n; ++i) {
-                adjMatrix.add(new ArrayList<>(Collections.nCopies(n, 0))); //ArrayList of Integers
-                adjList.add(new ArrayList<>()); //ArrayList of Integers
-            }
-
-            //Fill the matrix with random values
-            double connectRand;
-            int weight;
-            ArrayList<Integer> addList;
-            for (int column = 0; column < n; ++column) {
-                for (int row = column+1; row < n; ++row) { //Don't want elements on the diagonal
-                    connectRand = edgeGen.nextDouble();
-                    if (connectRand <= p) {
-
-                        //Generate weights
-                        weight = weightGen.nextInt(n) + 1;
-
-                        //Add AdjMatrix elements
-                        adjMatrix.get(row).set(column, weight);
-                        adjMatrix.get(column).set(row, weight);
-
-                        //Add AdjList element
-                        addList = new ArrayList<>();
-                        addList.add(row);
-                        addList.add(weight);
-                        adjList.get(column).add(addList);
-
-                        //Add AdjList element
-                        addList = new ArrayList<>();
-                        addList.add(column);
-                        addList.add(weight);
-                        adjList.get(row).add(addList);
-
-                        //Count edges
-                        numEdges++;
-                    }
+
+            //Fill the matrix with random values, merging the components of every edge's endpoints as it's created
+            if (generationThreads > 0) {
+                ParallelGraphGenerator.generate(n, p, sparse, seed, attempt, generationThreads, adjMatrix, generatedEdges);
+                numEdges = generatedEdges.size();
+                for (int i = 0; i < numEdges; ++i) {
+                    generationSets.union(generatedEdges.getSource(i), generatedEdges.getDestination(i));
                 }
+            } else if (sparse) {
+                generateSparseEdges(n, p, generatedEdges);
+            } else {
+                generateDenseEdges(n, p, generatedEdges);
+            }
+            attempt++;
+        } while (generationSets.getNumSets() > 1); //While the graph is not connected, keep making more graphs
+        adjList = new CSRGraph(n, generatedEdges);
+        generationSets = null;
+        if (Metrics.ENABLED) Metrics.add(Metrics.Counter.GENERATION_ATTEMPTS, attempt);
+        Metrics.endPhase(Metrics.Phase.GENERATE, phaseStart);
+    }
+
+    /**
+     * @return whether the graph's edges are drawn by skipping (SPARSE, or AUTO below SPARSE_GENERATION_P)
+     */
+    private boolean isSparse(double p) {
+        return generationMode == GenerationMode.SPARSE
+                || (generationMode == GenerationMode.AUTO && p < SPARSE_GENERATION_P);
+    }
+
+    /**
+     * Draws one random number for every vertex pair, creating the edge if it is at most p
+     */
+    private void generateDenseEdges(int n, double p, EdgeArray generatedEdges) {
+        double connectRand;
+        for (int column = 0; column < n; ++column) {
+            for (int row = column+1; row < n; ++row) { //Don't want elements on the diagonal
+                connectRand = edgeGen.nextDouble();
+                if (connectRand <= p) {
+                    addGeneratedEdge(n, column, row, generatedEdges);
+                }
+            }
+        }
+    }
+
+    /**
+     * Visits the vertex pairs in the same (column, row) order as generateDenseEdges, but instead of testing every pair
+     * it draws how many pairs to skip before the next created edge. The skip length is geometric,
+     * floor(log(1-r) / log(1-p)), so the whole graph takes O(n + m) random draws (Batagelj and Brandes).
+     */
+    private void generateSparseEdges(int n, double p, EdgeArray generatedEdges) {
+        if (p <= 0) {
+            return;
+        }
+        double logMissProbability = Math.log1p(-p); //-Infinity when p = 1, which makes every skip 0
+        int column = 0;
+        long row = 0; //The pair before (0, 1)
+        while (column < n-1) {
+            double skip = Math.floor(Math.log1p(-edgeGen.nextDouble()) / logMissProbability);
+            if (skip >= (double) n*n) { //Past the last pair no matter where we are
+                return;
             }
-        } while (!DFS(0, n)); //While the graph is not connected, keep making more graphs
-        System.out.println(String.format("Time to generate the graph: %d milliseconds",System.currentTimeMillis()-start_time));
+            row += 1 + (long) skip;
+            while (row >= n && column < n-1) { //Carry into the following columns
+                column++;
+                row = row - n + column + 1;
+            }
+            if (column < n-1) {
+                addGeneratedEdge(n, column, (int) row, generatedEdges);
+            }
+        }
+    }
+
+    /**
+     * Gives a newly created edge a random weight from 1 to n and adds it to the matrix and the list
+     */
+    private void addGeneratedEdge(int n, int column, int row, EdgeArray generatedEdges) {
+        //Generate weights
+        int weight = weightGen.nextInt(n) + 1;
+
+        if (streamingMST != null) { //Nothing is stored when streaming
+            numEdges++;
+            streamingMST.addEdge(column, row, weight);
+            return;
+        }
+
+        //Add AdjMatrix element (stored once for both directions)
+        if (adjMatrix != null) {
+            adjMatrix.set(row, column, weight);
+        }
+
+        //Add AdjList edge (both half-edges are laid out when the CSR arrays are built)
+        generatedEdges.add(column, row, weight);
+
+        //Count edges
+        numEdges++;
+
+        //Track connectivity
+        generationSets.union(column, row);
+    }
+
+    public int getNumVertices() {
+        return numVertices;
+    }
+
+    public int getNumEdges() {
+        return numEdges;
+    }
+
+    /**
+     * @return the adjacency matrix built by the last generate (null after a load, after SPARSE generation, or if it
+     *         was too large to build)
+     */
+    public AdjacencyMatrix getAdjacencyMatrix() {
+        return adjMatrix;
+    }
+
+    /**
+     * @return the adjacency list built by the last generate or load
+     */
+    public CSRGraph getAdjacencyList() {
+        return adjList;
     }
 
     /**
      * Prints out a readable version of this graph's adjacency matrix
      */
     public void printAdjacencyMatrix() {
-        System.out.println("\nThe graph as an adjacency matrix:\n");
-        for (ArrayList<Integer> row : adjMatrix) {
-            System.out.print(" ");
-            for (int rowItem : row) {
-                System.out.print(Integer.toString(rowItem)+"   ");
+        out.println("\nThe graph as an adjacency matrix:\n");
+        for (int row = 0; row < adjMatrix.getSize(); ++row) {
+            out.print(" ");
+            for (int column = 0; column < adjMatrix.getSize(); ++column) {
+                out.print(Integer.toString(adjMatrix.get(row, column))+"   ");
             }
-            System.out.print("\n\n");
+            out.print("\n\n");
         }
     }
 
@@ -337,17 +793,17 @@ public class Graph {
         int nodeVal;
         int weightVal;
 
-        System.out.println("The graph as an adjacency list:");
-        for (int i = 0; i < adjList.size(); ++i) {
-            System.out.print(String.format("%d-> ",i));
-            for (int j = 0; j < adjList.get(i).size(); ++j) {
-                nodeVal = adjList.get(i).get(j).get(0);
-                weightVal = adjList.get(i).get(j).get(1);
-                System.out.print(String.format("%d(%d) ",nodeVal,weightVal));
+        out.println("The graph as an adjacency list:");
+        for (int i = 0; i < adjList.getNumVertices(); ++i) {
+            out.print(String.format("%d-> ",i));
+            for (int j = adjList.getStart(i); j < adjList.getEnd(i); ++j) {
+                nodeVal = adjList.getTarget(j);
+                weightVal = adjList.getWeight(j);
+                out.print(String.format("%d(%d) ",nodeVal,weightVal));
             }
-            System.out.print("\n");
+            out.print("\n");
         }
-        System.out.print("\n");
+        out.print("\n");
     }
 
     /**
@@ -358,95 +814,123 @@ public class Graph {
      * @return boolean representing whether or not the graph is connected (if # of nodes visited = n)
      */
     public boolean DFS(int vertex, int n) {
-        visitedList = new ArrayList<>();
-        predecessors = new HashMap<>();
+        visited = new long[(n + 63) >>> 6];
+        predecessors = new int[n];
+        visitedCount = 0;
         DFS_VISIT(vertex, -1);
-        return (visitedList.size() == n);
+        return (visitedCount == n);
     }
 
     /**
-     * Recursive function to visit a node in the adjacency list
-     * @param vertex the vertex to visit (will add this to the visited list)
+     * Visits every node reachable from a vertex in the adjacency list, in the same order a recursive DFS would.
+     * Uses an explicit stack (with each vertex's position in its neighbor list) so large graphs can't overflow the
+     * call stack.
+     * @param vertex the vertex to start from (will add this to the visited list)
      * @param parent the parent of the node (normally will be the node you're currently on,
      *               except -1 for the first call)
      */
     public void DFS_VISIT(int vertex, int parent) {
-        visitedList.add(vertex);
-        predecessors.put(vertex, parent);
-        for (ArrayList<Integer> neighbor : adjList.get(vertex)) {
-            if (!visitedList.contains(neighbor.get(0))) {
-                DFS_VISIT(neighbor.get(0), vertex);
+        int[] stack = new int[adjList.getNumVertices()];
+        int[] nextEdge = new int[adjList.getNumVertices()];
+        int top = 0;
+
+        markVisited(vertex, parent);
+        stack[top++] = vertex;
+        nextEdge[vertex] = adjList.getStart(vertex);
+        while (top > 0) {
+            int current = stack[top-1];
+            if (nextEdge[current] == adjList.getEnd(current)) { //All neighbors done, go back up
+                top--;
+                continue;
+            }
+            int neighbor = adjList.getTarget(nextEdge[current]++);
+            if (!isVisited(neighbor)) {
+                markVisited(neighbor, current);
+                stack[top++] = neighbor;
+                nextEdge[neighbor] = adjList.getStart(neighbor);
             }
         }
     }
 
+    private boolean isVisited(int vertex) {
+        return (visited[vertex >>> 6] & (1L << vertex)) != 0;
+    }
+
+    private void markVisited(int vertex, int parent) {
+        visited[vertex >>> 6] |= 1L << vertex;
+        predecessors[vertex] = parent;
+        visitedCount++;
+    }
+
     /**
      * Prints out the properly ordered information about the DFS that has been run on the graph
      */
     public void printDFSInformation() {
-        System.out.println("Depth-First Search:");
+        out.println("Depth-First Search:");
 
         ArrayList<Integer> printVertices = new ArrayList<>();
         ArrayList<Integer> printPredecessors = new ArrayList<>();
 
-        for (HashMap.Entry<Integer,Integer> entry : predecessors.entrySet()) {
-            printVertices.add(entry.getKey());
-            printPredecessors.add(entry.getValue());
+        for (int i = 0; i < predecessors.length; ++i) {
+            if (isVisited(i)) {
+                printVertices.add(i);
+                printPredecessors.add(predecessors[i]);
+            }
         }
 
-        System.out.println("Vertices:");
-        System.out.print(" "); //Account for the fact that the predecessor below has a - in front (so they line up)
+        out.println("Vertices:");
+        out.print(" "); //Account for the fact that the predecessor below has a - in front (so they line up)
         for (int item : printVertices) {
-            System.out.print(String.format("%d ",item));
+            out.print(String.format("%d ",item));
         }
-        System.out.print("\n");
+        out.print("\n");
 
-        System.out.println("Predecessors:");
+        out.println("Predecessors:");
         for (int item : printPredecessors) {
-            System.out.print(String.format("%d ",item));
+            out.print(String.format("%d ",item));
         }
-        System.out.println();
+        out.println();
     }
 
     /**
-     * Initializes the matrix edges (ArrayList for sorting) with the values from the graph's adjacency matrix
+     * Initializes the matrix edges (EdgeArray for sorting) with the values from the graph's adjacency matrix
      */
-    public ArrayList<Edge> createMatrixEdges(){
+    public EdgeArray createMatrixEdges(){
+        long phaseStart = Metrics.startPhase();
         int addWeight;
-        Edge edgeToAdd;
-        int boardSize = adjMatrix.size();
-        matrixEdges = new ArrayList<>();
+        int boardSize = adjMatrix.getSize();
+        matrixEdges = new EdgeArray(numEdges);
         for (int column = 0; column < boardSize; ++column) {
             for (int row = column+1; row < boardSize; ++row) {
-                addWeight = adjMatrix.get(column).get(row);
+                addWeight = adjMatrix.get(column, row);
                 if (addWeight != 0) {
-                    edgeToAdd = new Edge(column,row,addWeight);
-                    matrixEdges.add(edgeToAdd);
+                    matrixEdges.add(column,row,addWeight);
                 }
             }
         }
+        Metrics.endPhase(Metrics.Phase.EXTRACT, phaseStart);
         return matrixEdges;
     }
 
     /**
-     * Initializes the list edges (ArrayList for sorting) with the values from the graph's adjacency matrix
+     * Initializes the list edges (EdgeArray for sorting) with the values from the graph's adjacency list
      */
-    public ArrayList<Edge> createListEdges() {
+    public EdgeArray createListEdges() {
+        long phaseStart = Metrics.startPhase();
         int addWeight, addDestination;
-        Edge edgeToAdd;
-        int boardSize = adjList.size();
-        listEdges = new ArrayList<>();
+        int boardSize = adjList.getNumVertices();
+        listEdges = new EdgeArray(adjList.getNumEdges());
         for (int i = 0; i < boardSize; ++i) {
-            for (ArrayList<Integer> pair : adjList.get(i)) {
-                addDestination = pair.get(0);
-                addWeight = pair.get(1);
+            for (int j = adjList.getStart(i); j < adjList.getEnd(i); ++j) {
+                addDestination = adjList.getTarget(j);
+                addWeight = adjList.getWeight(j);
 
                 if (i < addDestination) { //If we haven't done this edge yet (they go in increasing order)
-                    edgeToAdd = new Edge(i,addDestination,addWeight);
-                    listEdges.add(edgeToAdd);
+                    listEdges.add(i,addDestination,addWeight);
                 }
             }
         }
+        Metrics.endPhase(Metrics.Phase.EXTRACT, phaseStart);
         return listEdges;
     }
 
@@ -461,220 +945,645 @@ public class Graph {
      * Uses the start_time private variable to print out how long it has been since the timer was started
      */
     private void stopTimer() {
-        System.out.println(String.format("Runtime: %d milliseconds\n",System.currentTimeMillis()-start_time));
+        printRuntime(System.currentTimeMillis()-start_time);
     }
 
-    private void union(Vertex u, Vertex v) {
-        Vertex i,j;
-        i = find(u);
-        j = find(v);
-        if (i.getRank() > j.getRank()) {
-            j.setParent(i);
-        } else {
-            i.setParent(j);
-            if (i.getRank() == j.getRank()) {
-                j.setRank(j.getRank()+1);
-            }
-        }
+    private void printRuntime(long millis) {
+        out.println(String.format("Runtime: %d milliseconds\n",millis));
     }
 
-    private ArrayList<Edge> kruskal(ArrayList<Edge> kruskList) {
-        ArrayList<Vertex> disjointVertices = new ArrayList<>();
-        ArrayList<Edge> MST = new ArrayList<>();
-        Vertex vertexToAdd;
-        for (int i = 0; i < numVertices; ++i) {
-            vertexToAdd = new Vertex(i,null,0);
-            vertexToAdd.setParent(vertexToAdd); //Make it its own parent
-            disjointVertices.add(vertexToAdd);
-        }
+    /**
+     * Runs Kruskal's algorithm over an already sorted list of edges
+     * @param kruskList the sorted edges of the graph
+     * @return the edges of the MST in the order they were accepted, or an empty list if the graph isn't connected
+     */
+    EdgeArray kruskal(EdgeArray kruskList) {
+        long phaseStart = Metrics.startPhase();
+        DisjointSet disjointVertices = new DisjointSet(numVertices);
+        EdgeArray MST = new EdgeArray(numVertices-1);
 
-        Vertex root1,root2;
+        int root1,root2;
         int includedCount = 0;
-        for (Edge curEdge : kruskList) {
-            root1 = find(disjointVertices.get(curEdge.getSourceVertex()));
-            root2 = find(disjointVertices.get(curEdge.getDestinationVertex()));
-            if (root1.getIndex() != root2.getIndex()) {
-                MST.add(new Edge(curEdge)); //Add copy of edge to MST
+        for (int i = 0; i < kruskList.size(); ++i) {
+            root1 = disjointVertices.find(kruskList.getSource(i));
+            root2 = disjointVertices.find(kruskList.getDestination(i));
+            if (root1 != root2) {
+                MST.add(kruskList.getSource(i), kruskList.getDestination(i), kruskList.getWeight(i));
                 includedCount++;
-                union(root1,root2);
+                disjointVertices.unionRoots(root1,root2);
                 if (includedCount >= numVertices-1) {
+                    Metrics.endPhase(Metrics.Phase.MST, phaseStart);
                     return MST;
                 }
             }
         }
-        return new ArrayList<>();
+        Metrics.endPhase(Metrics.Phase.MST, phaseStart);
+        return new EdgeArray(0);
     }
 
-    private ArrayList<Edge> prim(ArrayList<Edge> primList) {
-        //TODO Implement Prim's Algorithm
-        ArrayList<Edge> MST = new ArrayList<>(numVertices-1);
-        for (int i=0;i<numVertices; ++i) {
-            MST.add(null);
+    /**
+     * Runs Filter-Kruskal over an unsorted list of edges. The edges are partitioned around a pivot, the light side is
+     * handled first, and then heavy edges whose endpoints the light side already connected are filtered out before
+     * the heavy side is processed. Dense graphs only ever sort a small fraction of their edges this way.
+     * Accepts the same edges, in the same order, as kruskal does on the fully sorted list.
+     * @param kruskList the edges of the graph (reordered in place)
+     * @return the edges of the MST in the order they were accepted, or an empty list if the graph isn't connected
+     */
+    private EdgeArray filterKruskal(EdgeArray kruskList) {
+        long phaseStart = Metrics.startPhase();
+        DisjointSet disjointVertices = new DisjointSet(numVertices);
+        EdgeArray MST = new EdgeArray(numVertices-1);
+        filterKruskal(kruskList, 0, kruskList.size()-1, disjointVertices, MST);
+        Metrics.endPhase(Metrics.Phase.MST, phaseStart);
+        if (MST.size() < numVertices-1) {
+            return new EdgeArray(0);
         }
+        return MST;
+    }
 
-        ArrayList<Vertex> primVertices = new ArrayList<>();
+    /**
+     * Recursive step of Filter-Kruskal on the range [lo, hi] of the edge list
+     */
+    private void filterKruskal(EdgeArray kruskList, int lo, int hi, DisjointSet disjointVertices, EdgeArray MST) {
+        if (lo > hi || MST.size() >= numVertices-1) {
+            return;
+        }
+        if (hi - lo < FILTER_KRUSKAL_THRESHOLD) { //Small enough to sort and scan like plain Kruskal
+            quickSort(kruskList, lo, hi);
+            for (int i = lo; i <= hi && MST.size() < numVertices-1; ++i) {
+                int root1 = disjointVertices.find(kruskList.getSource(i));
+                int root2 = disjointVertices.find(kruskList.getDestination(i));
+                if (root1 != root2) {
+                    MST.add(kruskList.getSource(i), kruskList.getDestination(i), kruskList.getWeight(i));
+                    disjointVertices.unionRoots(root1, root2);
+                }
+            }
+            return;
+        }
 
-        Vertex zeroVertex = new Vertex(0, null, 0);
-        zeroVertex.setParent(zeroVertex);
+        //Use the median of the first, middle and last edges as the pivot
+        int mid = (lo + hi) >>> 1;
+        if (kruskList.lessThan(mid, lo)) kruskList.swap(mid, lo);
+        if (kruskList.lessThan(hi, lo)) kruskList.swap(hi, lo);
+        if (kruskList.lessThan(hi, mid)) kruskList.swap(hi, mid);
+        kruskList.swap(lo, mid);
+        int pivot = partition(kruskList, lo, hi);
+
+        //Light edges (up to and including the pivot) first
+        filterKruskal(kruskList, lo, pivot, disjointVertices, MST);
+        if (MST.size() >= numVertices-1) {
+            return;
+        }
+
+        //Drop heavy edges that would close a cycle, then recurse on what's left
+        int kept = pivot+1;
+        for (int i = pivot+1; i <= hi; ++i) {
+            if (disjointVertices.find(kruskList.getSource(i)) != disjointVertices.find(kruskList.getDestination(i))) {
+                kruskList.copy(i, kept++);
+            }
+        }
+        filterKruskal(kruskList, pivot+1, kept-1, disjointVertices, MST);
+    }
 
-        primVertices.add(zeroVertex);
+    /**
+     * Runs Kruskal's algorithm without sorting the edges first. The list is turned into a binary min-heap in place
+     * (O(m), bottom up) and edges are popped off it only until the tree has n-1 of them, so the O(log m) per edge cost
+     * is paid for the edges Kruskal actually examines rather than for all m. On dense graphs that is a small prefix.
+     * Accepts the same edges, in the same order, as kruskal does on the fully sorted list.
+     * @param kruskList the edges of the graph (reordered in place)
+     * @return the edges of the MST in the order they were accepted, or an empty list if the graph isn't connected
+     */
+    EdgeArray lazyKruskal(EdgeArray kruskList) {
+        long phaseStart = Metrics.startPhase();
+        DisjointSet disjointVertices = new DisjointSet(numVertices);
+        EdgeArray MST = new EdgeArray(numVertices-1);
+
+        int heapSize = kruskList.size();
+        for (int k = (heapSize >>> 1) - 1; k >= 0; --k) {
+            edgeSiftDown(kruskList, k, heapSize);
+        }
+        while (heapSize > 0 && MST.size() < numVertices-1) {
+            int source = kruskList.getSource(0);
+            int destination = kruskList.getDestination(0);
+            int weight = kruskList.getWeight(0);
+            heapSize--;
+            if (heapSize > 0) {
+                kruskList.copy(heapSize, 0);
+                edgeSiftDown(kruskList, 0, heapSize);
+            }
 
-        PriorityQueue primPQ = new PriorityQueue(numVertices-1); //Don't include 0
-        HashMap<Integer, ArrayList<Integer>> neighbors = new HashMap<>();
-        for (int i = 0; i < numVertices; ++i) {
-            neighbors.put(i, new ArrayList<>());
+            int root1 = disjointVertices.find(source);
+            int root2 = disjointVertices.find(destination);
+            if (root1 != root2) {
+                MST.add(source, destination, weight);
+                disjointVertices.unionRoots(root1, root2);
+            }
         }
-        for (Edge curEdge : primList) {
-            neighbors.get(curEdge.getSourceVertex()).add(curEdge.getDestinationVertex());
-            neighbors.get(curEdge.getDestinationVertex()).add(curEdge.getSourceVertex());
+        Metrics.endPhase(Metrics.Phase.MST, phaseStart);
+        if (MST.size() < numVertices-1) {
+            return new EdgeArray(0);
         }
+        return MST;
+    }
 
+    /**
+     * Moves the edge at k down the min-heap held in the first heapSize entries of the list until neither child is
+     * smaller, shifting the smaller child up into the hole each level
+     */
+    private void edgeSiftDown(EdgeArray heap, int k, int heapSize) {
+        int source = heap.getSource(k);
+        int destination = heap.getDestination(k);
+        int weight = heap.getWeight(k);
+        int child;
+        while ((child = 2*k + 1) < heapSize) {
+            if (child+1 < heapSize && heap.lessThan(child+1, child)) {
+                child++;
+            }
+            if (!heap.lessThan(child, source, destination, weight)) {
+                break;
+            }
+            heap.copy(child, k);
+            k = child;
+        }
+        heap.set(k, source, destination, weight);
+    }
 
+    /**
+     * Runs Prim's algorithm over a CSR view of the graph, using the priority queue chosen with setPrimQueue
+     * (O(E log V) with the binary heap)
+     * @param primGraph the graph to find the minimum spanning tree of
+     * @return the edges of the MST, ordered by the vertex they connect into the tree
+     */
+    EdgeArray prim(CSRGraph primGraph) {
+        return prim(primGraph, primQueue);
+    }
+
+    /**
+     * Runs Prim's algorithm over a CSR view of the graph with the given kind of priority queue
+     */
+    EdgeArray prim(CSRGraph primGraph, PrimQueue queueType) {
+        long phaseStart = Metrics.startPhase();
+        int[] parents = new int[numVertices];
+        boolean[] inTree = new boolean[numVertices];
+        IndexedPriorityQueue primPQ = newPrimQueue(queueType, primGraph);
+
+        //Start the tree at vertex 0
+        int lastVertex = 0;
+        inTree[0] = true;
         int num = numVertices-1;
         while (num > 0) {
-            //Step 1
-            //For each item in PQ
-                //For each neighbor of that vertex
-                    //Find edge item-neighbor OR neighbor-item
-                    //If that edge < item.getKey(), update it and the parent (based off edge)
-            for (pqItem item : primPQ.getPq()) {
-                if (item != null) {
-                    Vertex lastVertex = primVertices.get(primVertices.size() - 1);
-                    for (int curNeighbor : neighbors.get(lastVertex.getIndex())) { //For neighbors of most recent
-                        int weight = adjMatrix.get(curNeighbor).get(lastVertex.getIndex());
-                        if (weight != 0) {
-                            if (weight < item.getKey()) {
-                                if (item.getVertex() == curNeighbor) {
-                                    item.setParent(lastVertex.getIndex());
-                                    item.setKey(weight);
-                                }
-                            }
-                        }
-                    }
+            //Step 1: relax every edge out of the most recently added vertex
+            int end = primGraph.getEnd(lastVertex);
+            for (int i = primGraph.getStart(lastVertex); i < end; ++i) {
+                int curNeighbor = primGraph.getTarget(i);
+                if (inTree[curNeighbor]) {
+                    continue;
+                }
+                int weight = primGraph.getWeight(i);
+                if (!primPQ.contains(curNeighbor)) {
+                    parents[curNeighbor] = lastVertex;
+                    primPQ.insert(curNeighbor, weight);
+                } else if (weight < primPQ.getKey(curNeighbor)) {
+                    parents[curNeighbor] = lastVertex;
+                    primPQ.decreaseKey(curNeighbor, weight);
                 }
             }
 
-            //Step 2
-            primPQ.heapify();
-
-            //Step 3 and Step 4
-            pqItem root = primPQ.getPq().get(1);
-            Vertex parentVertex = new Vertex(root.getParent(), null, 0);
-            parentVertex.setParent(parentVertex);
-            Vertex addVertex = new Vertex(root.getVertex(), parentVertex, 0);
-            primVertices.add(addVertex);
-//            MST.add(new Edge(root.getParent(),root.getVertex(),root.getKey()));
-            MST.set(root.getVertex(),new Edge(root.getParent(),root.getVertex(),root.getKey()));
-//            primPQ.getPq().set(1, primPQ.getPq().get(primPQ.getPq().size()-1));
-            primPQ.getPq().set(1, primPQ.getPq().get(primPQ.getNumItems()));
-//            primPQ.getPq().remove(primPQ.getPq().size()-1);
-            primPQ.getPq().remove(primPQ.getNumItems());
-            primPQ.setNumItems(primPQ.getNumItems()-1);
-
-            //Step 5
+            if (primPQ.isEmpty()) { //Nothing left is reachable, so the graph isn't connected
+                Metrics.endPhase(Metrics.Phase.MST, phaseStart);
+                return new EdgeArray(0);
+            }
+
+            //Step 2: add the closest vertex to the tree
+            lastVertex = primPQ.extractMin();
+            inTree[lastVertex] = true;
             num--;
         }
 
-        MST.remove(0);
+        //Report the edges by the vertex they connect into the tree
+        EdgeArray MST = new EdgeArray(numVertices-1);
+        for (int v = 1; v < numVertices; ++v) {
+            MST.add(parents[v], v, primPQ.getKey(v));
+        }
+        Metrics.endPhase(Metrics.Phase.MST, phaseStart);
         return MST;
     }
 
-    private Vertex find(Vertex findVertex) {
-        if (findVertex.getParent().getIndex() == findVertex.getIndex()) {
-            return findVertex;
+    /**
+     * Creates an empty priority queue of the given kind, big enough for every vertex and weight of a graph
+     */
+    private IndexedPriorityQueue newPrimQueue(PrimQueue queueType, CSRGraph primGraph) {
+        switch (queueType) {
+            case DARY4:
+                return new DaryHeap(numVertices, 4);
+            case DARY8:
+                return new DaryHeap(numVertices, 8);
+            case PAIRING:
+                return new PairingHeap(numVertices);
+            case BUCKET:
+                if (primGraph.getMaxWeight() <= BUCKET_QUEUE_MAX_KEY) {
+                    return new BucketPriorityQueue(numVertices, primGraph.getMaxWeight());
+                }
+                out.println(String.format("Using the binary heap instead of the bucket queue: weights up to %d need more than %d buckets",
+                        primGraph.getMaxWeight(), BUCKET_QUEUE_MAX_KEY));
+                return new PriorityQueue(numVertices);
+            default:
+                return new PriorityQueue(numVertices);
+        }
+    }
+
+    /**
+     * Runs the classic array based Prim's algorithm straight off the adjacency matrix (O(V^2), no heap). The vertices
+     * still outside the tree are kept in increasing order in one array; each step reads the newest tree vertex's
+     * cells for just those vertices, and a single pass over them both relaxes the distances and finds the closest
+     * one. On dense graphs this does less work than a heap, since every one of the O(V^2) edges would otherwise cost
+     * a decreaseKey, and nothing is allocated after the first few arrays.
+     * @param matrix the graph to find the minimum spanning tree of
+     * @return the edges of the MST, ordered by the vertex they connect into the tree
+     */
+    EdgeArray denseMatrixPrim(AdjacencyMatrix matrix) {
+        long phaseStart = Metrics.startPhase();
+        int[] dist = new int[numVertices];
+        int[] parents = new int[numVertices];
+        int[] outside = new int[numVertices]; //Vertices not in the tree yet, in increasing order
+        int[] weights = new int[numVertices]; //weights[k] is the weight from the newest tree vertex to outside[k]
+        Arrays.fill(dist, Integer.MAX_VALUE);
+
+        //Start the tree at vertex 0
+        int numOutside = numVertices-1;
+        for (int v = 1; v < numVertices; ++v) {
+            outside[v-1] = v;
+        }
+        int lastVertex = 0;
+        while (numOutside > 0) {
+            matrix.getCells(lastVertex, outside, numOutside, weights);
+            int closest = -1;
+            int closestDist = Integer.MAX_VALUE;
+            for (int k = 0; k < numOutside; ++k) {
+                int v = outside[k];
+                int weight = weights[k];
+                if (weight != 0 && weight < dist[v]) {
+                    dist[v] = weight;
+                    parents[v] = lastVertex;
+                }
+                if (dist[v] < closestDist) {
+                    closestDist = dist[v];
+                    closest = k;
+                }
+            }
+
+            if (closest == -1) { //Nothing left is reachable, so the graph isn't connected
+                Metrics.endPhase(Metrics.Phase.MST, phaseStart);
+                return new EdgeArray(0);
+            }
+            lastVertex = outside[closest];
+            numOutside--;
+            System.arraycopy(outside, closest+1, outside, closest, numOutside-closest);
         }
-        return find(findVertex.getParent());
+
+        //Report the edges by the vertex they connect into the tree
+        EdgeArray MST = new EdgeArray(numVertices-1);
+        for (int v = 1; v < numVertices; ++v) {
+            MST.add(parents[v], v, dist[v]);
+        }
+        Metrics.endPhase(Metrics.Phase.MST, phaseStart);
+        return MST;
     }
 
     /**
-     * Run the 3 algorithms (in this case Kruskal's) on an edgeList generated by the adjacency matrix
+     * Run the chosen sorts (in this case followed by Kruskal's) on an edgeList generated by the adjacency matrix
      */
     private void runMatrixAlgorithms() {
 //        String algorithm = "SORTED EDGES";
         String algorithm = "KRUSKAL";
         String source = "MATRIX";
 
+        long quickSortTime = -1; //Stays -1 if quicksort isn't run, so there's nothing to compare the parallel one to
+
         //Insertion sort with MATRIX
-        startTimer();
-        insertionSorted_matrixEdges = edgeInsertionSort(createMatrixEdges());
-        insertionSorted_matrixEdges = kruskal(insertionSorted_matrixEdges);
-        printHeader(algorithm, source, "INSERTION SORT");
-        printEdgeList(insertionSorted_matrixEdges);
-        printEdgeWeightSum(insertionSorted_matrixEdges,"Kruskal");
-        stopTimer();
+        if (runSorts.contains(KruskalSort.INSERTION)) {
+            startTimer();
+            insertionSorted_matrixEdges = edgeInsertionSort(createMatrixEdges());
+            insertionSorted_matrixEdges = kruskal(insertionSorted_matrixEdges);
+            printHeader(algorithm, source, "INSERTION SORT");
+            printEdgeList(insertionSorted_matrixEdges);
+            printEdgeWeightSum(insertionSorted_matrixEdges,"Kruskal");
+            stopTimer();
+        }
 
         //Count sort with MATRIX
-        startTimer();
-        countSorted_matrixEdges = edgeCountSort(createMatrixEdges());
-        countSorted_matrixEdges = kruskal(countSorted_matrixEdges);
-        printHeader(algorithm, source, "COUNT SORT");
-        printEdgeList(countSorted_matrixEdges);
-        printEdgeWeightSum(countSorted_matrixEdges,"Kruskal");
-        stopTimer();
+        if (runSorts.contains(KruskalSort.COUNT)) {
+            startTimer();
+            countSorted_matrixEdges = edgeCountSort(createMatrixEdges());
+            countSorted_matrixEdges = kruskal(countSorted_matrixEdges);
+            printHeader(algorithm, source, "COUNT SORT");
+            printEdgeList(countSorted_matrixEdges);
+            printEdgeWeightSum(countSorted_matrixEdges,"Kruskal");
+            stopTimer();
+        }
 
         //Quicksort with MATRIX
-        startTimer();
-        quickSorted_matrixEdges = edgeQuickSort(createMatrixEdges(),0,numEdges-1);
-        quickSorted_matrixEdges = kruskal(quickSorted_matrixEdges);
-        printHeader(algorithm, source, "QUICKSORT");
-        printEdgeList(quickSorted_matrixEdges);
-        printEdgeWeightSum(quickSorted_matrixEdges,"Kruskal");
-        stopTimer();
+        if (runSorts.contains(KruskalSort.QUICK)) {
+            startTimer();
+            long sortStart = System.nanoTime();
+            quickSorted_matrixEdges = edgeQuickSort(createMatrixEdges(),0,numEdges-1);
+            quickSortTime = System.nanoTime() - sortStart;
+            quickSorted_matrixEdges = kruskal(quickSorted_matrixEdges);
+            printHeader(algorithm, source, "QUICKSORT");
+            printEdgeList(quickSorted_matrixEdges);
+            printEdgeWeightSum(quickSorted_matrixEdges,"Kruskal");
+            stopTimer();
+        }
+
+        //Parallel quicksort with MATRIX
+        if (runSorts.contains(KruskalSort.PARALLEL_QUICK)) {
+            startTimer();
+            long sortStart = System.nanoTime();
+            parallelQuickSorted_matrixEdges = edgeParallelQuickSort(createMatrixEdges());
+            long parallelQuickSortTime = System.nanoTime() - sortStart;
+            parallelQuickSorted_matrixEdges = kruskal(parallelQuickSorted_matrixEdges);
+            printHeader(algorithm, source, "PARALLEL QUICKSORT");
+            printEdgeList(parallelQuickSorted_matrixEdges);
+            printEdgeWeightSum(parallelQuickSorted_matrixEdges,"Kruskal");
+            if (quickSortTime >= 0) {
+                printSortSpeedup(quickSortTime, parallelQuickSortTime);
+            }
+            stopTimer();
+        }
+
+        //Radix sort with MATRIX
+        if (runSorts.contains(KruskalSort.RADIX)) {
+            startTimer();
+            radixSorted_matrixEdges = edgeRadixSort(createMatrixEdges());
+            radixSorted_matrixEdges = kruskal(radixSorted_matrixEdges);
+            printHeader(algorithm, source, "RADIX SORT");
+            printEdgeList(radixSorted_matrixEdges);
+            printEdgeWeightSum(radixSorted_matrixEdges,"Kruskal");
+            stopTimer();
+        }
     }
 
     /**
-     * Run the 3 algorithms (in this case Kruskal's) on an edgeList generated by the adjacency list
+     * Run the chosen sorts (in this case followed by Kruskal's) on an edgeList generated by the adjacency list
      */
     private void runListAlgorithms() {
 //        String algorithm = "SORTED EDGES";
         String algorithm = "KRUSKAL";
         String source = "LIST";
 
+        long quickSortTime = -1; //Stays -1 if quicksort isn't run, so there's nothing to compare the parallel one to
+
         //Insertion sort with LIST
-        startTimer();
-        insertionSorted_listEdges = edgeInsertionSort(createListEdges());
-        insertionSorted_listEdges = kruskal(insertionSorted_listEdges);
-        printHeader(algorithm, source, "INSERTION SORT");
-        printEdgeList(insertionSorted_listEdges);
-        printEdgeWeightSum(insertionSorted_listEdges,"Kruskal");
-        stopTimer();
+        if (runSorts.contains(KruskalSort.INSERTION)) {
+            startTimer();
+            insertionSorted_listEdges = edgeInsertionSort(createListEdges());
+            insertionSorted_listEdges = kruskal(insertionSorted_listEdges);
+            printHeader(algorithm, source, "INSERTION SORT");
+            printEdgeList(insertionSorted_listEdges);
+            printEdgeWeightSum(insertionSorted_listEdges,"Kruskal");
+            stopTimer();
+        }
 
         //Count sort with LIST
-        startTimer();
-        countSorted_listEdges = edgeCountSort(createListEdges());
-        countSorted_listEdges = kruskal(countSorted_listEdges);
-        printHeader(algorithm, source, "COUNT SORT");
-        printEdgeList(countSorted_listEdges);
-        printEdgeWeightSum(countSorted_listEdges,"Kruskal");
-        stopTimer();
+        if (runSorts.contains(KruskalSort.COUNT)) {
+            startTimer();
+            countSorted_listEdges = edgeCountSort(createListEdges());
+            countSorted_listEdges = kruskal(countSorted_listEdges);
+            printHeader(algorithm, source, "COUNT SORT");
+            printEdgeList(countSorted_listEdges);
+            printEdgeWeightSum(countSorted_listEdges,"Kruskal");
+            stopTimer();
+        }
 
         //Quicksort with LIST
-        startTimer();
-        quickSorted_listEdges = edgeQuickSort(createListEdges(),0,numEdges-1);
-        quickSorted_listEdges = kruskal(quickSorted_listEdges);
-        printHeader(algorithm, source, "QUICKSORT");
-        printEdgeList(quickSorted_listEdges);
-        printEdgeWeightSum(quickSorted_listEdges,"Kruskal");
-        stopTimer();
+        if (runSorts.contains(KruskalSort.QUICK)) {
+            startTimer();
+            long sortStart = System.nanoTime();
+            quickSorted_listEdges = edgeQuickSort(createListEdges(),0,numEdges-1);
+            quickSortTime = System.nanoTime() - sortStart;
+            quickSorted_listEdges = kruskal(quickSorted_listEdges);
+            printHeader(algorithm, source, "QUICKSORT");
+            printEdgeList(quickSorted_listEdges);
+            printEdgeWeightSum(quickSorted_listEdges,"Kruskal");
+            stopTimer();
+        }
+
+        //Parallel quicksort with LIST
+        if (runSorts.contains(KruskalSort.PARALLEL_QUICK)) {
+            startTimer();
+            long sortStart = System.nanoTime();
+            parallelQuickSorted_listEdges = edgeParallelQuickSort(createListEdges());
+            long parallelQuickSortTime = System.nanoTime() - sortStart;
+            parallelQuickSorted_listEdges = kruskal(parallelQuickSorted_listEdges);
+            printHeader(algorithm, source, "PARALLEL QUICKSORT");
+            printEdgeList(parallelQuickSorted_listEdges);
+            printEdgeWeightSum(parallelQuickSorted_listEdges,"Kruskal");
+            if (quickSortTime >= 0) {
+                printSortSpeedup(quickSortTime, parallelQuickSortTime);
+            }
+            stopTimer();
+        }
+
+        //Radix sort with LIST
+        if (runSorts.contains(KruskalSort.RADIX)) {
+            startTimer();
+            radixSorted_listEdges = edgeRadixSort(createListEdges());
+            radixSorted_listEdges = kruskal(radixSorted_listEdges);
+            printHeader(algorithm, source, "RADIX SORT");
+            printEdgeList(radixSorted_listEdges);
+            printEdgeWeightSum(radixSorted_listEdges,"Kruskal");
+            stopTimer();
+        }
     }
 
     private void runPrimAlgorithm() {
         //TODO All the stuff I put off until now
         String algorithm = "PRIM";
-        startTimer();
-        printPrimHeader(algorithm, "ADJACENCY MATRIX");
-        ArrayList<Edge> primMatrixMST = prim(createMatrixEdges());
-        printEdgeList(primMatrixMST);
-        printEdgeWeightSum(primMatrixMST,"Prim");
-        stopTimer();
+        if (adjMatrix != null) {
+            startTimer();
+            printPrimHeader(algorithm, "ADJACENCY MATRIX");
+            EdgeArray primMatrixMST = denseMatrixPrim(adjMatrix);
+            printEdgeList(primMatrixMST);
+            printEdgeWeightSum(primMatrixMST,"Prim");
+            stopTimer();
+        }
 
         startTimer();
         printPrimHeader(algorithm, "ADJACENCY LIST");
-        ArrayList<Edge> primListMST = prim(createListEdges());
+        EdgeArray primListMST = prim(adjList);
         printEdgeList(primListMST);
         printEdgeWeightSum(primListMST,"Prim");
         stopTimer();
 
     }
 
+    /**
+     * Run Filter-Kruskal (which does its own partial sorting) on the matrix and list edges
+     */
+    private void runFilterKruskalAlgorithm() {
+        String algorithm = "FILTER-KRUSKAL";
+        if (adjMatrix != null) {
+            startTimer();
+            printPrimHeader(algorithm, "ADJACENCY MATRIX");
+            EdgeArray filterMatrixMST = filterKruskal(createMatrixEdges());
+            printEdgeList(filterMatrixMST);
+            printEdgeWeightSum(filterMatrixMST,"Filter-Kruskal");
+            stopTimer();
+        }
+
+        startTimer();
+        printPrimHeader(algorithm, "ADJACENCY LIST");
+        EdgeArray filterListMST = filterKruskal(createListEdges());
+        printEdgeList(filterListMST);
+        printEdgeWeightSum(filterListMST,"Filter-Kruskal");
+        stopTimer();
+    }
+
+    /**
+     * Run the heap based lazy Kruskal (which only orders the edges it pops) on the matrix and list edges
+     */
+    private void runLazyKruskalAlgorithm() {
+        String algorithm = "LAZY-KRUSKAL";
+        if (adjMatrix != null) {
+            startTimer();
+            printPrimHeader(algorithm, "ADJACENCY MATRIX");
+            EdgeArray lazyMatrixMST = lazyKruskal(createMatrixEdges());
+            printEdgeList(lazyMatrixMST);
+            printEdgeWeightSum(lazyMatrixMST,"Lazy-Kruskal");
+            stopTimer();
+        }
+
+        startTimer();
+        printPrimHeader(algorithm, "ADJACENCY LIST");
+        EdgeArray lazyListMST = lazyKruskal(createListEdges());
+        printEdgeList(lazyListMST);
+        printEdgeWeightSum(lazyListMST,"Lazy-Kruskal");
+        stopTimer();
+    }
+
+    /**
+     * Run the parallel Boruvka algorithm on CSR views of the matrix and list
+     */
+    private void runBoruvkaAlgorithm() {
+        String algorithm = "BORUVKA";
+        if (adjMatrix != null) {
+            startTimer();
+            printPrimHeader(algorithm, "ADJACENCY MATRIX");
+            EdgeArray boruvkaMatrixMST = ParallelBoruvka.mst(new CSRGraph(numVertices, createMatrixEdges()));
+            printEdgeList(boruvkaMatrixMST);
+            printEdgeWeightSum(boruvkaMatrixMST,"Boruvka");
+            stopTimer();
+        }
+
+        startTimer();
+        printPrimHeader(algorithm, "ADJACENCY LIST");
+        EdgeArray boruvkaListMST = ParallelBoruvka.mst(adjList);
+        printEdgeList(boruvkaListMST);
+        printEdgeWeightSum(boruvkaListMST,"Boruvka");
+        stopTimer();
+    }
+
+    /**
+     * Runs every pipeline of runMatrixAlgorithms, runListAlgorithms, runPrimAlgorithm, runFilterKruskalAlgorithm,
+     * runLazyKruskalAlgorithm and runBoruvkaAlgorithm (of the chosen algorithms) at the same time on pipelineThreads
+     * threads. The graph is frozen first: the matrix and list edges are extracted once, and from then on the tasks
+     * only read them (each sorts its own copy) and the CSR arrays, so nothing they share is written. Each task times
+     * itself, and the results are printed afterwards in the usual report order, so the totals and order match the
+     * sequential run and only the runtimes differ.
+     */
+    private void runPipelinesConcurrently() {
+        long start = System.currentTimeMillis();
+        EdgeArray frozenMatrixEdges = (adjMatrix != null) ? createMatrixEdges() : null;
+        EdgeArray frozenListEdges = createListEdges();
+
+        List<Pipeline> pipelines = new ArrayList<>();
+        String[] sources = {"MATRIX", "LIST"};
+        EdgeArray[] frozenEdges = {frozenMatrixEdges, frozenListEdges};
+        for (int i = 0; i < sources.length; ++i) {
+            if (frozenEdges[i] == null || !algorithms.contains(Algorithm.KRUSKAL)) {
+                continue;
+            }
+            if (runSorts.contains(KruskalSort.INSERTION)) {
+                pipelines.add(new Pipeline("KRUSKAL", sources[i], "INSERTION SORT", "Kruskal", frozenEdges[i], this::edgeInsertionSort, this::kruskal));
+            }
+            if (runSorts.contains(KruskalSort.COUNT)) {
+                pipelines.add(new Pipeline("KRUSKAL", sources[i], "COUNT SORT", "Kruskal", frozenEdges[i], this::edgeCountSort, this::kruskal));
+            }
+            Pipeline quickSortPipeline = null;
+            if (runSorts.contains(KruskalSort.QUICK)) {
+                quickSortPipeline = new Pipeline("KRUSKAL", sources[i], "QUICKSORT", "Kruskal", frozenEdges[i],
+                        edges -> edgeQuickSort(edges, 0, edges.size()-1), this::kruskal);
+                pipelines.add(quickSortPipeline);
+            }
+            if (runSorts.contains(KruskalSort.PARALLEL_QUICK)) {
+                Pipeline parallelQuickSortPipeline = new Pipeline("KRUSKAL", sources[i], "PARALLEL QUICKSORT", "Kruskal", frozenEdges[i],
+                        this::edgeParallelQuickSort, this::kruskal);
+                parallelQuickSortPipeline.speedupBaseline = quickSortPipeline;
+                pipelines.add(parallelQuickSortPipeline);
+            }
+            if (runSorts.contains(KruskalSort.RADIX)) {
+                pipelines.add(new Pipeline("KRUSKAL", sources[i], "RADIX SORT", "Kruskal", frozenEdges[i], this::edgeRadixSort, this::kruskal));
+            }
+        }
+        if (algorithms.contains(Algorithm.PRIM)) {
+            if (frozenMatrixEdges != null) {
+                pipelines.add(new Pipeline("PRIM", "ADJACENCY MATRIX", null, "Prim", null, null, edges -> denseMatrixPrim(adjMatrix)));
+            }
+            pipelines.add(new Pipeline("PRIM", "ADJACENCY LIST", null, "Prim", null, null, edges -> prim(adjList)));
+        }
+        if (algorithms.contains(Algorithm.FILTER_KRUSKAL)) {
+            if (frozenMatrixEdges != null) {
+                pipelines.add(new Pipeline("FILTER-KRUSKAL", "ADJACENCY MATRIX", null, "Filter-Kruskal", frozenMatrixEdges, null, this::filterKruskal));
+            }
+            pipelines.add(new Pipeline("FILTER-KRUSKAL", "ADJACENCY LIST", null, "Filter-Kruskal", frozenListEdges, null, this::filterKruskal));
+        }
+        if (algorithms.contains(Algorithm.LAZY_KRUSKAL)) {
+            if (frozenMatrixEdges != null) {
+                pipelines.add(new Pipeline("LAZY-KRUSKAL", "ADJACENCY MATRIX", null, "Lazy-Kruskal", frozenMatrixEdges, null, this::lazyKruskal));
+            }
+            pipelines.add(new Pipeline("LAZY-KRUSKAL", "ADJACENCY LIST", null, "Lazy-Kruskal", frozenListEdges, null, this::lazyKruskal));
+        }
+        if (algorithms.contains(Algorithm.BORUVKA)) {
+            if (frozenMatrixEdges != null) {
+                pipelines.add(new Pipeline("BORUVKA", "ADJACENCY MATRIX", null, "Boruvka", frozenMatrixEdges, null,
+                        edges -> ParallelBoruvka.mst(new CSRGraph(numVertices, edges))));
+            }
+            pipelines.add(new Pipeline("BORUVKA", "ADJACENCY LIST", null, "Boruvka", null, null, edges -> ParallelBoruvka.mst(adjList)));
+        }
+
+        ExecutorService pool = Executors.newFixedThreadPool(pipelineThreads);
+        try {
+            List<Future<?>> tasks = new ArrayList<>(pipelines.size());
+            for (Pipeline pipeline : pipelines) {
+                tasks.add(pool.submit(pipeline::run));
+            }
+            for (Future<?> task : tasks) {
+                task.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while running the pipelines", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Pipeline failed", e.getCause());
+        } finally {
+            pool.shutdown();
+        }
+
+        for (Pipeline pipeline : pipelines) { //Report order
+            if (pipeline.sortType != null) {
+                printHeader(pipeline.algorithm, pipeline.source, pipeline.sortType);
+            } else {
+                printPrimHeader(pipeline.algorithm, pipeline.source);
+            }
+            printEdgeList(pipeline.result);
+            printEdgeWeightSum(pipeline.result, pipeline.method);
+            if (pipeline.speedupBaseline != null) {
+                printSortSpeedup(pipeline.speedupBaseline.sortNanos, pipeline.sortNanos);
+            }
+            printRuntime(pipeline.runtimeMillis);
+        }
+        out.println(String.format("Time to run the pipelines on %d threads: %d milliseconds", pipelineThreads,
+                System.currentTimeMillis()-start));
+    }
+
 }
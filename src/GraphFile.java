@@ -0,0 +1,100 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Binary on-disk format for a CSR graph, so a generated graph can be saved once and reloaded instantly.
+ * The file is a 16 byte header (magic, version, number of vertices, number of edges) followed by the offsets,
+ * targets and weights arrays, all little-endian ints. Reading maps each array straight into memory, so the returned
+ * MappedCSRGraph is backed by the file itself and nothing is copied onto the heap.
+ *
+ * @author Clay Benson
+ */
+public class GraphFile {
+
+    private static final int MAGIC = 0x4D535447; //"MSTG"
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 16;
+
+    //Buffer size used while writing
+    private static final int WRITE_CHUNK_BYTES = 1 << 20;
+
+    /**
+     * Writes a graph to a file, replacing anything already there
+     * @param graph the graph to save
+     * @param path where to save it
+     */
+    public static void write(CSRGraph graph, Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer chunk = ByteBuffer.allocateDirect(WRITE_CHUNK_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            chunk.putInt(MAGIC).putInt(VERSION).putInt(graph.getNumVertices()).putInt(graph.getNumEdges());
+            for (IntBuffer section : new IntBuffer[]{graph.getOffsets(), graph.getTargets(), graph.getWeights()}) {
+                section.rewind();
+                while (section.hasRemaining()) {
+                    if (chunk.remaining() < Integer.BYTES) {
+                        flush(channel, chunk);
+                    }
+                    //Bulk copy as many ints as fit in the chunk
+                    int count = Math.min(chunk.remaining() / Integer.BYTES, section.remaining());
+                    IntBuffer part = section.slice();
+                    part.limit(count);
+                    chunk.asIntBuffer().put(part);
+                    chunk.position(chunk.position() + count * Integer.BYTES);
+                    section.position(section.position() + count);
+                }
+            }
+            flush(channel, chunk);
+        }
+    }
+
+    /**
+     * Maps a saved graph into memory
+     * @param path the file to read
+     * @return a graph whose arrays are views of the mapped file
+     * @throws IOException if the file can't be read or isn't a graph file
+     */
+    public static CSRGraph read(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (channel.size() < HEADER_BYTES) {
+                throw new IOException(String.format("%s is too short to be a graph file", path));
+            }
+            ByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            if (header.getInt() != MAGIC || header.getInt() != VERSION) {
+                throw new IOException(String.format("%s is not a graph file", path));
+            }
+            int numVertices = header.getInt();
+            int numEdges = header.getInt();
+            long offsetsBytes = (numVertices + 1L) * Integer.BYTES;
+            long halfEdgeBytes = 2L * numEdges * Integer.BYTES;
+            if (numVertices < 0 || numEdges < 0 || channel.size() != HEADER_BYTES + offsetsBytes + 2*halfEdgeBytes) {
+                throw new IOException(String.format("%s has the wrong size for its header", path));
+            }
+
+            //The mappings stay valid after the channel is closed
+            IntBuffer offsets = map(channel, HEADER_BYTES, offsetsBytes);
+            IntBuffer targets = map(channel, HEADER_BYTES + offsetsBytes, halfEdgeBytes);
+            IntBuffer weights = map(channel, HEADER_BYTES + offsetsBytes + halfEdgeBytes, halfEdgeBytes);
+            return new MappedCSRGraph(numVertices, numEdges, offsets, targets, weights);
+        }
+    }
+
+    private static IntBuffer map(FileChannel channel, long position, long bytes) throws IOException {
+        if (bytes > Integer.MAX_VALUE) {
+            throw new IOException("Graph is too large to map (more than 2GB in one array)");
+        }
+        return channel.map(FileChannel.MapMode.READ_ONLY, position, bytes).order(ByteOrder.LITTLE_ENDIAN).asIntBuffer();
+    }
+
+    private static void flush(FileChannel channel, ByteBuffer chunk) throws IOException {
+        chunk.flip();
+        while (chunk.hasRemaining()) {
+            channel.write(chunk);
+        }
+        chunk.clear();
+    }
+}
@@ -0,0 +1,31 @@
+/**
+ * Min-priority queue over the vertices 0..n-1 with int keys and decrease-key, the operations Prim's algorithm needs.
+ * Prim only talks to this interface, so the queue implementation can be chosen at runtime (see Graph.PrimQueue).
+ * A vertex's key stays readable with getKey after it has been extracted.
+ *
+ * @author Clay Benson
+ */
+public interface IndexedPriorityQueue {
+
+    /**
+     * Adds a vertex that isn't in the queue yet
+     */
+    void insert(int vertex, int key);
+
+    /**
+     * Lowers the key of a vertex that is already in the queue
+     */
+    void decreaseKey(int vertex, int key);
+
+    /**
+     * Removes the vertex with the smallest key
+     * @return the removed vertex
+     */
+    int extractMin();
+
+    boolean contains(int vertex);
+
+    int getKey(int vertex);
+
+    boolean isEmpty();
+}
@@ -2,6 +2,9 @@ import java.io.BufferedReader;
 import java.io.FileNotFoundException;
 import java.io.FileReader;
 import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.EnumSet;
 
 /**
  * Main class
@@ -14,7 +17,24 @@ public class MST {
     /**
      * Handles input processing, and holds the instance of the generated graph
      * Additionally runs the public methods to print Matrix, List, and DFS information
-     * @param args space separated command line arguments
+     * @param args space separated command line arguments: the input file, then any options
+     *             (--generation=dense|sparse|auto picks how the graph's edges are drawn, and sparse (or auto with
+     *             p below 0.1) builds only the adjacency list, so the matrix runs are skipped,
+     *             --generation-threads=k generates the graph on k threads,
+     *             --stream finds the MST without storing the graph,
+     *             --save-graph=FILE saves the generated graph to a binary graph file,
+     *             --load-graph reads the input file as a saved binary graph instead of n, seed and p,
+     *             --edge-list reads the input file as a text edge list of "u v w" lines,
+     *             --batch reads the input file as a manifest of "n seed p" lines and runs them all,
+     *             --batch-threads=k runs k of the manifest's tests at once, one per core by default,
+     *             --pipeline-threads=k runs the MST pipelines k at a time once the graph is built,
+     *             --prim-queue=binary|dary4|dary8|pairing|bucket picks the priority queue Prim's algorithm uses,
+     *             --algorithms=kruskal,prim,filter-kruskal,lazy-kruskal,boruvka picks the MST algorithms to run,
+     *             kruskal and prim by default,
+     *             --sorts=insertion,count,quick,parallel-quick,radix picks the sorts Kruskal runs after
+     *             (all by default, but insertion sort only on graphs of up to 65536 edges, and count sort only
+     *             when the largest weight is small next to the number of edges)).
+     *             Run with -Dmst.metrics=json|csv to also write the hot path counters and phase timings (see Metrics).
      */
     public static void main(String[] args) {
 
@@ -22,7 +42,216 @@ public class MST {
         if (args.length > 0) {
             fileName = args[0];
         }
+        Graph.GenerationMode generationMode = Graph.GenerationMode.DENSE;
+        int generationThreads = 0;
+        boolean streaming = false;
+        Path saveGraphPath = null;
+        boolean loadGraph = false;
+        boolean edgeList = false;
+        boolean batch = false;
+        int batchThreads = Runtime.getRuntime().availableProcessors();
+        int pipelineThreads = 0;
+        Graph.PrimQueue primQueue = Graph.PrimQueue.BINARY;
+        boolean primQueueChosen = false;
+        EnumSet<Graph.Algorithm> algorithms = EnumSet.of(Graph.Algorithm.KRUSKAL, Graph.Algorithm.PRIM);
+        boolean algorithmsChosen = false;
+        EnumSet<Graph.KruskalSort> sorts = null; //null keeps Graph's default
+        boolean generationChosen = false;
+        for (int i = 1; i < args.length; ++i) {
+            if (args[i].startsWith("--generation=")) {
+                try {
+                    generationMode = Graph.GenerationMode.valueOf(args[i].substring("--generation=".length()).toUpperCase());
+                    generationChosen = true;
+                } catch (IllegalArgumentException e) {
+                    System.out.println("generation must be dense, sparse or auto");
+                    System.exit(0);
+                }
+            } else if (args[i].startsWith("--generation-threads=")) {
+                try {
+                    generationThreads = Integer.parseInt(args[i].substring("--generation-threads=".length()));
+                } catch (NumberFormatException e) {
+                    generationThreads = -1;
+                }
+                if (generationThreads < 1) {
+                    System.out.println("generation-threads must be a positive integer");
+                    System.exit(0);
+                }
+            } else if (args[i].equals("--stream")) {
+                streaming = true;
+            } else if (args[i].startsWith("--save-graph=")) {
+                saveGraphPath = Paths.get(args[i].substring("--save-graph=".length()));
+            } else if (args[i].equals("--load-graph")) {
+                loadGraph = true;
+            } else if (args[i].equals("--edge-list")) {
+                edgeList = true;
+            } else if (args[i].startsWith("--prim-queue=")) {
+                try {
+                    primQueue = Graph.PrimQueue.valueOf(args[i].substring("--prim-queue=".length()).toUpperCase());
+                    primQueueChosen = true;
+                } catch (IllegalArgumentException e) {
+                    System.out.println("prim-queue must be binary, dary4, dary8, pairing or bucket");
+                    System.exit(0);
+                }
+            } else if (args[i].startsWith("--algorithms=")) {
+                algorithms = EnumSet.noneOf(Graph.Algorithm.class);
+                algorithmsChosen = true;
+                try {
+                    for (String name : args[i].substring("--algorithms=".length()).split(",")) {
+                        algorithms.add(Graph.Algorithm.valueOf(name.trim().toUpperCase().replace('-', '_')));
+                    }
+                } catch (IllegalArgumentException e) {
+                    System.out.println("algorithms must be a comma separated list of kruskal, prim, filter-kruskal, lazy-kruskal and boruvka");
+                    System.exit(0);
+                }
+            } else if (args[i].startsWith("--sorts=")) {
+                sorts = EnumSet.noneOf(Graph.KruskalSort.class);
+                try {
+                    for (String name : args[i].substring("--sorts=".length()).split(",")) {
+                        sorts.add(Graph.KruskalSort.valueOf(name.trim().toUpperCase().replace('-', '_')));
+                    }
+                } catch (IllegalArgumentException e) {
+                    System.out.println("sorts must be a comma separated list of insertion, count, quick, parallel-quick and radix");
+                    System.exit(0);
+                }
+            } else if (args[i].startsWith("--pipeline-threads=")) {
+                try {
+                    pipelineThreads = Integer.parseInt(args[i].substring("--pipeline-threads=".length()));
+                } catch (NumberFormatException e) {
+                    pipelineThreads = -1;
+                }
+                if (pipelineThreads < 1) {
+                    System.out.println("pipeline-threads must be a positive integer");
+                    System.exit(0);
+                }
+            } else if (args[i].equals("--batch")) {
+                batch = true;
+            } else if (args[i].startsWith("--batch-threads=")) {
+                try {
+                    batchThreads = Integer.parseInt(args[i].substring("--batch-threads=".length()));
+                } catch (NumberFormatException e) {
+                    batchThreads = -1;
+                }
+                if (batchThreads < 1) {
+                    System.out.println("batch-threads must be a positive integer");
+                    System.exit(0);
+                }
+            } else {
+                System.out.println(String.format("Unknown option %s", args[i]));
+                System.exit(0);
+            }
+        }
         String line = null;
+        if (Metrics.isMisconfigured()) {
+            System.out.println("mst.metrics must be json or csv");
+            System.exit(0);
+        }
+        if (streaming && pipelineThreads > 0) {
+            System.out.println("--stream can't be combined with --pipeline-threads");
+            System.exit(0);
+        }
+        if (streaming && (algorithmsChosen || sorts != null)) {
+            System.out.println("--stream can't be combined with --algorithms or --sorts (it always runs batched Kruskal)");
+            System.exit(0);
+        }
+        if (streaming && primQueueChosen) {
+            System.out.println("--stream can't be combined with --prim-queue (it never runs Prim)");
+            System.exit(0);
+        }
+        if (streaming && saveGraphPath != null) {
+            System.out.println("--stream can't be combined with --save-graph (the graph is never stored)");
+            System.exit(0);
+        }
+        if (loadGraph && saveGraphPath != null) {
+            System.out.println("--load-graph can't be combined with --save-graph (the graph is already saved)");
+            System.exit(0);
+        }
+        if ((loadGraph || edgeList) && (generationChosen || generationThreads > 0 || streaming)) {
+            System.out.println("--load-graph and --edge-list can't be combined with --generation, --generation-threads or --stream");
+            System.exit(0);
+        }
+        if (loadGraph && edgeList) {
+            System.out.println("--load-graph can't be combined with --edge-list");
+            System.exit(0);
+        }
+
+        if (batch) {
+            if (loadGraph || edgeList || saveGraphPath != null) {
+                System.out.println("--batch can't be combined with --load-graph, --edge-list or --save-graph");
+                System.exit(0);
+            }
+            if (streaming && generationThreads > 0) {
+                System.out.println("--stream can't be combined with --generation-threads");
+                System.exit(0);
+            }
+            BatchRunner batchRunner = new BatchRunner(generationMode, generationThreads, pipelineThreads, primQueue, algorithms,
+                    sorts, streaming);
+            try {
+                batchRunner.run(Paths.get(fileName), batchThreads);
+            } catch (IOException e) {
+                System.out.println(String.format("Could not run the batch: %s", e.getMessage()));
+                System.exit(0);
+            }
+            Metrics.report(fileName, batchRunner.getTotalVertices(), batchRunner.getTotalEdges());
+            return;
+        }
+
+        if (loadGraph) {
+            CSRGraph loadedGraph = null;
+            try {
+                loadedGraph = GraphFile.read(Paths.get(fileName));
+            } catch (IOException e) {
+                System.out.println(String.format("Could not load graph file: %s", e.getMessage()));
+                System.exit(0);
+            }
+            System.out.print("\n");
+            System.out.println(String.format("TEST: graph file %s, n=%d, m=%d", fileName, loadedGraph.getNumVertices(), loadedGraph.getNumEdges()));
+            Graph loadedInputGraph = new Graph(0);
+            loadedInputGraph.setPipelineThreads(pipelineThreads);
+            loadedInputGraph.setPrimQueue(primQueue);
+            loadedInputGraph.setAlgorithms(algorithms);
+            if (sorts != null) {
+                loadedInputGraph.setSorts(sorts);
+            }
+            loadedInputGraph.load(loadedGraph);
+            Metrics.report(fileName, loadedInputGraph.getNumVertices(), loadedInputGraph.getNumEdges());
+            return;
+        }
+
+        if (edgeList) {
+            long readStart = System.currentTimeMillis();
+            EdgeListFile edgeListFile = null;
+            try {
+                edgeListFile = EdgeListFile.read(Paths.get(fileName), Runtime.getRuntime().availableProcessors());
+            } catch (IOException e) {
+                System.out.println(String.format("Could not read edge list: %s", e.getMessage()));
+                System.exit(0);
+            }
+            if (edgeListFile.getNumVertices() < 2) {
+                System.out.println("The edge list must have at least 2 vertices");
+                System.exit(0);
+            }
+            int components = countComponents(edgeListFile.getNumVertices(), edgeListFile.getEdges());
+            if (components > 1) {
+                System.out.println(String.format("The edge list's graph is not connected (%d components), so it has no spanning tree",
+                        components));
+                System.exit(0);
+            }
+            CSRGraph listGraph = new CSRGraph(edgeListFile.getNumVertices(), edgeListFile.getEdges());
+            System.out.print("\n");
+            System.out.println(String.format("TEST: edge list %s, n=%d, m=%d", fileName, listGraph.getNumVertices(), listGraph.getNumEdges()));
+            System.out.println(String.format("Time to read the edge list: %d milliseconds", System.currentTimeMillis()-readStart));
+            Graph listInputGraph = new Graph(0);
+            listInputGraph.setSaveGraphPath(saveGraphPath);
+            listInputGraph.setPipelineThreads(pipelineThreads);
+            listInputGraph.setPrimQueue(primQueue);
+            listInputGraph.setAlgorithms(algorithms);
+            if (sorts != null) {
+                listInputGraph.setSorts(sorts);
+            }
+            listInputGraph.load(listGraph);
+            Metrics.report(fileName, listInputGraph.getNumVertices(), listInputGraph.getNumEdges());
+            return;
+        }
 
         FileReader reader = null;
         try {
@@ -56,7 +285,39 @@ public class MST {
         System.out.println(String.format("TEST: n=%d, seed=%d, p=%s", n, seed, Double.toString(p)));
 
         Graph myGraph = new Graph(seed);
-        myGraph.generate(n,p);
+        myGraph.setGenerationMode(generationMode);
+        if (streaming) {
+            if (generationThreads > 0) {
+                System.out.println("--stream can't be combined with --generation-threads");
+                System.exit(0);
+            }
+            myGraph.generateStreaming(n,p);
+        } else {
+            myGraph.setGenerationThreads(generationThreads);
+            myGraph.setSaveGraphPath(saveGraphPath);
+            myGraph.setPipelineThreads(pipelineThreads);
+            myGraph.setPrimQueue(primQueue);
+            myGraph.setAlgorithms(algorithms);
+            if (sorts != null) {
+                myGraph.setSorts(sorts);
+            }
+            myGraph.generate(n,p);
+        }
+        Metrics.report(fileName, myGraph.getNumVertices(), myGraph.getNumEdges());
+    }
+
+    /**
+     * Counts the connected components of a graph given as a list of edges (vertices with no edges are components too)
+     * @param numVertices the number of vertices, 0 to numVertices-1
+     * @param edges the edges of the graph
+     * @return the number of components, 1 if the graph is connected
+     */
+    private static int countComponents(int numVertices, EdgeArray edges) {
+        DisjointSet components = new DisjointSet(numVertices);
+        for (int i = 0; i < edges.size() && components.getNumSets() > 1; ++i) {
+            components.union(edges.getSource(i), edges.getDestination(i));
+        }
+        return components.getNumSets();
     }
 
     /**
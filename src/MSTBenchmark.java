@@ -0,0 +1,257 @@
+import com.sun.management.ThreadMXBean;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Microbenchmarks for the sorts, Kruskal, lazy Kruskal, Prim, edge extraction and graph generation, run in
+ * isolation from printing. Every benchmark is run for each combination of the n, p and seed parameters: a few warmup
+ * iterations let the JIT compile the hot paths, then each measured iteration times exactly one call with
+ * System.nanoTime. Inputs the call would modify (the edge lists handed to the sorts and to Kruskal) are copied before
+ * the timer starts, so every call sees the same unsorted input. Alongside the time, each row reports the bytes the
+ * call allocated and how much garbage collection ran during the measured iterations.
+ *
+ * Usage: java MSTBenchmark [--n=100,1000] [--p=0.1,1.0] [--seed=1] [--warmup=5] [--iterations=10]
+ *                          [--benchmark=insertionSort,countSort,...]
+ *
+ * @author Clay Benson
+ */
+public class MSTBenchmark {
+
+    private static final String[] BENCHMARKS = {"initAdjacencies", "createMatrixEdges", "createListEdges",
+            "insertionSort", "countSort", "quickSort", "kruskal", "lazyKruskal", "prim", "primDary4", "primDary8", "primPairing", "primBucket",
+            "denseMatrixPrim"};
+
+    //Results are folded into this so the JIT can't throw the benchmarked calls away
+    private static volatile long sink;
+
+    private static ThreadMXBean threadBean = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    /**
+     * Parses the parameters and runs every selected benchmark for every (n, p, seed)
+     * @param args the options listed in the class comment
+     */
+    public static void main(String[] args) {
+        int[] sizes = {100, 1000};
+        double[] probabilities = {0.1, 1.0};
+        long[] seeds = {1};
+        int warmup = 5;
+        int iterations = 10;
+        String[] benchmarks = BENCHMARKS;
+        try {
+            for (String arg : args) {
+                if (arg.startsWith("--n=")) {
+                    sizes = parseInts(arg.substring("--n=".length()));
+                } else if (arg.startsWith("--p=")) {
+                    probabilities = parseDoubles(arg.substring("--p=".length()));
+                } else if (arg.startsWith("--seed=")) {
+                    seeds = parseLongs(arg.substring("--seed=".length()));
+                } else if (arg.startsWith("--warmup=")) {
+                    warmup = Integer.parseInt(arg.substring("--warmup=".length()));
+                } else if (arg.startsWith("--iterations=")) {
+                    iterations = Integer.parseInt(arg.substring("--iterations=".length()));
+                } else if (arg.startsWith("--benchmark=")) {
+                    benchmarks = arg.substring("--benchmark=".length()).split(",");
+                } else {
+                    System.out.println(String.format("Unknown option %s", arg));
+                    System.exit(0);
+                }
+            }
+        } catch (NumberFormatException e) {
+            System.out.println(String.format("Bad number in options: %s", e.getMessage()));
+            System.exit(0);
+        }
+        if (warmup < 0 || iterations < 1) {
+            System.out.println("warmup must be at least 0 and iterations at least 1");
+            System.exit(0);
+        }
+        for (String benchmark : benchmarks) {
+            if (!isBenchmark(benchmark)) {
+                System.out.println(String.format("Unknown benchmark %s", benchmark));
+                System.exit(0);
+            }
+        }
+        if (threadBean.isThreadAllocatedMemorySupported()) {
+            threadBean.setThreadAllocatedMemoryEnabled(true);
+        }
+
+        System.out.println(String.format("%-18s %7s %5s %6s %14s %12s %14s %8s %8s",
+                "Benchmark", "n", "p", "seed", "ns/op", "+-", "B/op", "gc.count", "gc.ms"));
+        for (String benchmark : benchmarks) {
+            for (int n : sizes) {
+                for (double p : probabilities) {
+                    for (long seed : seeds) {
+                        run(benchmark, n, p, seed, warmup, iterations);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Runs one benchmark at one point of the parameter space and prints its row
+     */
+    private static void run(String benchmark, int n, double p, long seed, int warmup, int iterations) {
+        //Shared setup, outside of any timing
+        Graph graph = new Graph(seed);
+        graph.initAdjacencies(n, p);
+        EdgeArray listEdges = graph.createListEdges();
+        EdgeArray sortedEdges = EdgeRadixSort.sort(new EdgeArray(listEdges));
+        CSRGraph adjList = graph.getAdjacencyList();
+
+        long[] times = new long[iterations];
+        long allocated = 0;
+        long gcCount = -gcCount();
+        long gcMillis = -gcMillis();
+        for (int i = -warmup; i < iterations; ++i) {
+            //Per-call setup: a fresh copy of anything the call modifies
+            EdgeArray input = null;
+            Graph freshGraph = null;
+            if (benchmark.endsWith("Sort")) {
+                input = new EdgeArray(listEdges);
+            } else if (benchmark.equals("kruskal")) {
+                input = new EdgeArray(sortedEdges);
+            } else if (benchmark.equals("lazyKruskal")) { //Does its own ordering, so it starts from the unsorted edges
+                input = new EdgeArray(listEdges);
+            } else if (benchmark.equals("initAdjacencies")) {
+                freshGraph = new Graph(seed);
+            }
+            if (i == 0) { //Warmup is over, only count the collections of the measured calls
+                gcCount = -gcCount();
+                gcMillis = -gcMillis();
+            }
+
+            long allocatedBefore = allocatedBytes();
+            long start = System.nanoTime();
+            EdgeArray result = call(benchmark, graph, freshGraph, input, adjList, n, p);
+            long elapsed = System.nanoTime() - start;
+            long allocatedAfter = allocatedBytes();
+
+            sink += result.size() + result.getWeightSum(); //Outside the timed region
+            if (i >= 0) {
+                times[i] = elapsed;
+                allocated += allocatedAfter - allocatedBefore;
+            }
+        }
+        gcCount += gcCount();
+        gcMillis += gcMillis();
+
+        double mean = 0;
+        for (long time : times) {
+            mean += time;
+        }
+        mean /= iterations;
+        double variance = 0;
+        for (long time : times) {
+            variance += (time - mean) * (time - mean);
+        }
+        double error = (iterations > 1) ? Math.sqrt(variance / (iterations - 1)) : 0;
+        String bytesPerOp = threadBean.isThreadAllocatedMemorySupported() ? Long.toString(allocated / iterations) : "n/a";
+
+        System.out.println(String.format("%-18s %7d %5s %6d %14.0f %12.0f %14s %8d %8d",
+                benchmark, n, Double.toString(p), seed, mean, error, bytesPerOp, gcCount, gcMillis));
+    }
+
+    /**
+     * The benchmarked call itself
+     */
+    private static EdgeArray call(String benchmark, Graph graph, Graph freshGraph, EdgeArray input, CSRGraph adjList,
+                                  int n, double p) {
+        switch (benchmark) {
+            case "initAdjacencies": //Only generation is timed, so the result is just the edge count
+                freshGraph.initAdjacencies(n, p);
+                EdgeArray numEdges = new EdgeArray(1);
+                numEdges.add(0, 0, freshGraph.getNumEdges());
+                return numEdges;
+            case "createMatrixEdges":
+                return graph.createMatrixEdges();
+            case "createListEdges":
+                return graph.createListEdges();
+            case "insertionSort":
+                return graph.edgeInsertionSort(input);
+            case "countSort":
+                return graph.edgeCountSort(input);
+            case "quickSort":
+                return graph.edgeQuickSort(input, 0, input.size()-1);
+            case "kruskal":
+                return graph.kruskal(input);
+            case "lazyKruskal":
+                return graph.lazyKruskal(input);
+            case "prim":
+                return graph.prim(adjList, Graph.PrimQueue.BINARY);
+            case "primDary4":
+                return graph.prim(adjList, Graph.PrimQueue.DARY4);
+            case "primDary8":
+                return graph.prim(adjList, Graph.PrimQueue.DARY8);
+            case "primPairing":
+                return graph.prim(adjList, Graph.PrimQueue.PAIRING);
+            case "primBucket":
+                return graph.prim(adjList, Graph.PrimQueue.BUCKET);
+            case "denseMatrixPrim":
+                return graph.denseMatrixPrim(graph.getAdjacencyMatrix());
+            default:
+                throw new IllegalArgumentException(benchmark);
+        }
+    }
+
+    private static boolean isBenchmark(String name) {
+        for (String benchmark : BENCHMARKS) {
+            if (benchmark.equals(name)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static long allocatedBytes() {
+        if (!threadBean.isThreadAllocatedMemorySupported()) {
+            return 0;
+        }
+        return threadBean.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    private static long gcCount() {
+        long count = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            count += Math.max(gc.getCollectionCount(), 0);
+        }
+        return count;
+    }
+
+    private static long gcMillis() {
+        long millis = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            millis += Math.max(gc.getCollectionTime(), 0);
+        }
+        return millis;
+    }
+
+    private static int[] parseInts(String values) {
+        String[] parts = values.split(",");
+        int[] parsed = new int[parts.length];
+        for (int i = 0; i < parts.length; ++i) {
+            parsed[i] = Integer.parseInt(parts[i].trim());
+        }
+        return parsed;
+    }
+
+    private static double[] parseDoubles(String values) {
+        String[] parts = values.split(",");
+        double[] parsed = new double[parts.length];
+        for (int i = 0; i < parts.length; ++i) {
+            parsed[i] = Double.parseDouble(parts[i].trim());
+        }
+        return parsed;
+    }
+
+    private static long[] parseLongs(String values) {
+        String[] parts = values.split(",");
+        long[] parsed = new long[parts.length];
+        for (int i = 0; i < parts.length; ++i) {
+            parsed[i] = Long.parseLong(parts[i].trim());
+        }
+        return parsed;
+    }
+}
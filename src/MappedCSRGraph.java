@@ -0,0 +1,62 @@
+import java.nio.IntBuffer;
+
+/**
+ * CSR graph whose arrays are IntBuffer views of a memory-mapped graph file (see GraphFile), so loading a saved graph
+ * copies nothing onto the heap. Graphs built in memory stay plain CSRGraphs over int arrays, which keeps their
+ * accessors as cheap as an array read.
+ *
+ * @author Clay Benson
+ */
+public class MappedCSRGraph extends CSRGraph {
+
+    private IntBuffer offsets;
+    private IntBuffer targets;
+    private IntBuffer weights;
+
+    /**
+     * Wraps already laid out CSR buffers without copying them
+     * @param numVertices the number of vertices in the graph
+     * @param numEdges the number of (undirected) edges in the graph
+     * @param offsets numVertices+1 half-edge offsets
+     * @param targets 2*numEdges half-edge targets
+     * @param weights 2*numEdges half-edge weights
+     */
+    public MappedCSRGraph(int numVertices, int numEdges, IntBuffer offsets, IntBuffer targets, IntBuffer weights) {
+        super(numVertices, numEdges);
+        this.offsets = offsets;
+        this.targets = targets;
+        this.weights = weights;
+    }
+
+    public IntBuffer getOffsets() {
+        return offsets.duplicate();
+    }
+
+    public IntBuffer getTargets() {
+        return targets.duplicate();
+    }
+
+    public IntBuffer getWeights() {
+        return weights.duplicate();
+    }
+
+    public int getStart(int vertex) {
+        return offsets.get(vertex);
+    }
+
+    public int getEnd(int vertex) {
+        return offsets.get(vertex+1);
+    }
+
+    public int getDegree(int vertex) {
+        return offsets.get(vertex+1) - offsets.get(vertex);
+    }
+
+    public int getTarget(int halfEdge) {
+        return targets.get(halfEdge);
+    }
+
+    public int getWeight(int halfEdge) {
+        return weights.get(halfEdge);
+    }
+}
@@ -0,0 +1,179 @@
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Locale;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Opt-in counters and phase timings for the hot paths, written out as JSON or CSV after each run.
+ * Turned on with -Dmst.metrics=json or -Dmst.metrics=csv (and -Dmst.metrics.file=FILE to append to a file instead of
+ * printing). ENABLED is a static final read once when the class loads, so when metrics are off the JIT folds every
+ * "if (Metrics.ENABLED)" block away and the hot paths run exactly as they would without any counting.
+ * Counters are LongAdders because the parallel sorts and Boruvka update them from several threads at once.
+ *
+ * @author Clay Benson
+ */
+public class Metrics {
+
+    private static final String FORMAT = System.getProperty("mst.metrics");
+    public static final boolean ENABLED = "json".equals(FORMAT) || "csv".equals(FORMAT);
+
+    public enum Counter {
+        COMPARISONS,         //Edge comparisons (EdgeArray.lessThan, which every comparison sort and partition uses)
+        INSERTION_MOVES,     //Edges shifted up one slot by edgeInsertionSort
+        FINDS,               //Union-find lookups
+        FIND_STEPS,          //Parent links followed by those lookups (their total depth)
+        HEAP_OPERATIONS,     //Prim queue inserts, decreaseKeys and extractMins
+        HEAP_SIFT_STEPS,     //Levels moved by the heaps' sink and swim (pairing heap: links)
+        GENERATION_ATTEMPTS  //Graphs generated before a connected one came up
+    }
+
+    public enum Phase { GENERATE, EXTRACT, SORT, MST, PRINT }
+
+    private static final LongAdder[] counters = newAdders(Counter.values().length);
+    private static final LongAdder[] phaseNanos = newAdders(Phase.values().length);
+
+    private static LongAdder[] newAdders(int count) {
+        LongAdder[] adders = new LongAdder[count];
+        for (int i = 0; i < count; ++i) {
+            adders[i] = new LongAdder();
+        }
+        return adders;
+    }
+
+    /**
+     * @return whether -Dmst.metrics was set to something other than json or csv
+     */
+    public static boolean isMisconfigured() {
+        return FORMAT != null && !ENABLED;
+    }
+
+    /**
+     * Adds to a counter. Callers guard this with "if (Metrics.ENABLED)" so nothing is evaluated when metrics are off.
+     */
+    public static void add(Counter counter, long amount) {
+        counters[counter.ordinal()].add(amount);
+    }
+
+    /**
+     * @return the start time to pass to endPhase (0 when metrics are off)
+     */
+    public static long startPhase() {
+        return ENABLED ? System.nanoTime() : 0;
+    }
+
+    /**
+     * Adds the time since startPhase to a phase's total
+     */
+    public static void endPhase(Phase phase, long start) {
+        if (ENABLED) {
+            phaseNanos[phase.ordinal()].add(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Zeroes every counter and phase time, for the next run
+     */
+    public static void reset() {
+        for (LongAdder counter : counters) {
+            counter.reset();
+        }
+        for (LongAdder phase : phaseNanos) {
+            phase.reset();
+        }
+    }
+
+    /**
+     * Writes everything collected since the last reset as one JSON object (one line) or one CSV row, then resets
+     * @param input what was run (the input file)
+     * @param numVertices the number of vertices in the graph (summed over the graphs for a batch)
+     * @param numEdges the number of edges in the graph (summed over the graphs for a batch)
+     */
+    public static void report(String input, long numVertices, long numEdges) {
+        if (!ENABLED) {
+            return;
+        }
+        String file = System.getProperty("mst.metrics.file");
+        try {
+            boolean needsHeader = true;
+            PrintStream out = System.out;
+            if (file != null) {
+                Path path = Paths.get(file);
+                needsHeader = !Files.exists(path) || Files.size(path) == 0;
+                out = new PrintStream(new FileOutputStream(file, true), false, "UTF-8");
+            }
+            if (FORMAT.equals("csv")) {
+                if (needsHeader) {
+                    out.println(csvHeader());
+                }
+                out.println(csvRow(input, numVertices, numEdges));
+            } else {
+                out.println(json(input, numVertices, numEdges));
+            }
+            if (out != System.out) {
+                out.close();
+            }
+        } catch (IOException e) {
+            System.out.println(String.format("Could not write metrics to %s: %s", file, e.getMessage()));
+        }
+        reset();
+    }
+
+    private static String csvHeader() {
+        StringBuilder header = new StringBuilder("input,n,m");
+        for (Counter counter : Counter.values()) {
+            header.append(',').append(counter.name().toLowerCase(Locale.ROOT));
+        }
+        for (Phase phase : Phase.values()) {
+            header.append(',').append(phase.name().toLowerCase(Locale.ROOT)).append("_ns");
+        }
+        return header.toString();
+    }
+
+    private static String csvRow(String input, long numVertices, long numEdges) {
+        StringBuilder row = new StringBuilder();
+        row.append('"').append(input.replace("\"", "\"\"")).append('"');
+        row.append(',').append(numVertices).append(',').append(numEdges);
+        for (LongAdder counter : counters) {
+            row.append(',').append(counter.sum());
+        }
+        for (LongAdder phase : phaseNanos) {
+            row.append(',').append(phase.sum());
+        }
+        return row.toString();
+    }
+
+    private static String json(String input, long numVertices, long numEdges) {
+        StringBuilder json = new StringBuilder("{\"input\":\"");
+        for (char c : input.toCharArray()) {
+            if (c == '"' || c == '\\') {
+                json.append('\\').append(c);
+            } else if (c < 0x20) {
+                json.append(String.format("\\u%04x", (int) c));
+            } else {
+                json.append(c);
+            }
+        }
+        json.append("\",\"n\":").append(numVertices).append(",\"m\":").append(numEdges);
+        json.append(",\"counters\":{");
+        for (Counter counter : Counter.values()) {
+            if (counter.ordinal() > 0) {
+                json.append(',');
+            }
+            json.append('"').append(counter.name().toLowerCase(Locale.ROOT)).append("\":")
+                    .append(counters[counter.ordinal()].sum());
+        }
+        json.append("},\"phase_ns\":{");
+        for (Phase phase : Phase.values()) {
+            if (phase.ordinal() > 0) {
+                json.append(',');
+            }
+            json.append('"').append(phase.name().toLowerCase(Locale.ROOT)).append("\":")
+                    .append(phaseNanos[phase.ordinal()].sum());
+        }
+        return json.append("}}").toString();
+    }
+}
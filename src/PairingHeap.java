@@ -0,0 +1,139 @@
+/**
+ * Pairing heap over the vertices 0..n-1, keyed by int, with every node's links in primitive arrays indexed by vertex
+ * (no node objects). insert and decreaseKey are O(1) (meld the node, or its cut off subtree, with the root), and
+ * extractMin is O(log V) amortized, using the standard two pass pairing of the root's children.
+ * Each node keeps its first child, its next sibling, and a back link that points at its previous sibling, or at its
+ * parent if it is the first child, which is what cutting a node out of its sibling list needs.
+ *
+ * @author Clay Benson
+ */
+public class PairingHeap implements IndexedPriorityQueue {
+
+    private int[] keys;
+    private int[] child;    //Vertex -> first child, -1 if none
+    private int[] sibling;  //Vertex -> next sibling, -1 if none
+    private int[] back;     //Vertex -> previous sibling or parent, -1 for the root
+    private boolean[] inHeap;
+    private int[] pairing;  //Scratch list of subtrees for extractMin
+    private int root;
+    private int numItems;
+
+    /**
+     * Creates an empty heap
+     * @param capacity the number of vertices that can be stored (vertices are 0 to capacity-1)
+     */
+    public PairingHeap(int capacity) {
+        keys = new int[capacity];
+        child = new int[capacity];
+        sibling = new int[capacity];
+        back = new int[capacity];
+        inHeap = new boolean[capacity];
+        pairing = new int[capacity];
+        root = -1;
+        numItems = 0;
+    }
+
+    public boolean isEmpty() {
+        return numItems == 0;
+    }
+
+    public boolean contains(int vertex) {
+        return inHeap[vertex];
+    }
+
+    public int getKey(int vertex) {
+        return keys[vertex];
+    }
+
+    public void insert(int vertex, int key) {
+        if (Metrics.ENABLED) Metrics.add(Metrics.Counter.HEAP_OPERATIONS, 1);
+        keys[vertex] = key;
+        child[vertex] = -1;
+        sibling[vertex] = -1;
+        back[vertex] = -1;
+        inHeap[vertex] = true;
+        root = (root == -1) ? vertex : meld(root, vertex);
+        numItems++;
+    }
+
+    public void decreaseKey(int vertex, int key) {
+        if (Metrics.ENABLED) Metrics.add(Metrics.Counter.HEAP_OPERATIONS, 1);
+        keys[vertex] = key;
+        if (vertex == root) {
+            return;
+        }
+
+        //Cut the vertex's subtree out of its sibling list, then meld it back in at the root
+        int previous = back[vertex];
+        if (child[previous] == vertex) { //First child, so previous is the parent
+            child[previous] = sibling[vertex];
+        } else {
+            sibling[previous] = sibling[vertex];
+        }
+        if (sibling[vertex] != -1) {
+            back[sibling[vertex]] = previous;
+        }
+        sibling[vertex] = -1;
+        back[vertex] = -1;
+        root = meld(root, vertex);
+    }
+
+    public int extractMin() {
+        if (Metrics.ENABLED) Metrics.add(Metrics.Counter.HEAP_OPERATIONS, 1);
+        int min = root;
+        inHeap[min] = false;
+        numItems--;
+
+        //Detach the children
+        int count = 0;
+        for (int c = child[min]; c != -1; ) {
+            int next = sibling[c];
+            sibling[c] = -1;
+            back[c] = -1;
+            pairing[count++] = c;
+            c = next;
+        }
+        child[min] = -1;
+        if (count == 0) {
+            root = -1;
+            return min;
+        }
+
+        //Pass 1: meld them in pairs, left to right
+        int paired = 0;
+        for (int i = 0; i + 1 < count; i += 2) {
+            pairing[paired++] = meld(pairing[i], pairing[i+1]);
+        }
+        if ((count & 1) == 1) {
+            pairing[paired++] = pairing[count-1];
+        }
+
+        //Pass 2: meld the pairs into one tree, right to left
+        int merged = pairing[paired-1];
+        for (int i = paired-2; i >= 0; --i) {
+            merged = meld(pairing[i], merged);
+        }
+        root = merged;
+        return min;
+    }
+
+    /**
+     * Links two roots, making the one with the larger key the first child of the other
+     * @return the new root
+     */
+    private int meld(int a, int b) {
+        if (Metrics.ENABLED) Metrics.add(Metrics.Counter.HEAP_SIFT_STEPS, 1);
+        if (keys[b] < keys[a]) {
+            int temp = a;
+            a = b;
+            b = temp;
+        }
+        sibling[b] = child[a];
+        if (child[a] != -1) {
+            back[child[a]] = b;
+        }
+        back[b] = a;
+        child[a] = b;
+        return a;
+    }
+}
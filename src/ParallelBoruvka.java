@@ -0,0 +1,135 @@
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.stream.IntStream;
+
+/**
+ * Boruvka's MST algorithm over a CSR graph, with every phase of a round run in parallel on the common fork/join pool.
+ * Each round every vertex finds its cheapest edge leaving its component, each component keeps the cheapest of its
+ * vertices' edges, and the chosen edges are contracted with a concurrent union-find. The number of components at
+ * least halves every round, so there are O(log V) rounds.
+ * Edges are compared like Edge.lessThan on (weight, smaller endpoint, larger endpoint), which makes every edge weight
+ * distinct and guarantees the same MST that Kruskal finds.
+ *
+ * @author Clay Benson
+ */
+public class ParallelBoruvka {
+
+    private CSRGraph graph;
+    private int numVertices;
+    private int[] component;          //Vertex -> root of its component at the start of the round
+    private int[] bestHalfEdge;       //Vertex -> its cheapest half-edge leaving the component, -1 if none
+    private AtomicIntegerArray bestVertex; //Component root -> vertex holding the component's cheapest edge, -1 if none
+
+    private ParallelBoruvka(CSRGraph graph) {
+        this.graph = graph;
+        this.numVertices = graph.getNumVertices();
+        component = new int[numVertices];
+        bestHalfEdge = new int[numVertices];
+        bestVertex = new AtomicIntegerArray(numVertices);
+    }
+
+    /**
+     * Finds the minimum spanning tree of a graph
+     * @param graph the graph
+     * @return the MST edges (source < destination) sorted like Edge.lessThan, or an empty list if the graph isn't
+     * connected
+     */
+    public static EdgeArray mst(CSRGraph graph) {
+        long phaseStart = Metrics.startPhase();
+        EdgeArray mst = new ParallelBoruvka(graph).run();
+        Metrics.endPhase(Metrics.Phase.MST, phaseStart);
+        return mst;
+    }
+
+    private EdgeArray run() {
+        ConcurrentDisjointSet components = new ConcurrentDisjointSet(numVertices);
+        int[] mstSources = new int[Math.max(numVertices-1, 1)];
+        int[] mstDestinations = new int[mstSources.length];
+        int[] mstWeights = new int[mstSources.length];
+        AtomicInteger mstSize = new AtomicInteger(0);
+
+        while (mstSize.get() < numVertices-1) {
+            //Step 1: snapshot the components and clear the per-component candidates
+            IntStream.range(0, numVertices).parallel().forEach(v -> {
+                component[v] = components.find(v);
+                bestVertex.set(v, -1);
+            });
+
+            //Step 2: cheapest outgoing edge of every vertex, then of every component
+            IntStream.range(0, numVertices).parallel().forEach(v -> {
+                int best = -1;
+                for (int i = graph.getStart(v); i < graph.getEnd(v); ++i) {
+                    if (component[graph.getTarget(i)] != component[v] && (best == -1 || lessThan(v, i, v, best))) {
+                        best = i;
+                    }
+                }
+                bestHalfEdge[v] = best;
+                if (best != -1) {
+                    offer(component[v], v);
+                }
+            });
+
+            //Step 3: contract along the chosen edges. Two components can pick the same edge, but only one union wins.
+            int before = mstSize.get();
+            IntStream.range(0, numVertices).parallel().forEach(c -> {
+                int v = bestVertex.get(c);
+                if (v == -1) {
+                    return;
+                }
+                int halfEdge = bestHalfEdge[v];
+                int u = graph.getTarget(halfEdge);
+                if (components.union(v, u)) {
+                    int slot = mstSize.getAndIncrement();
+                    mstSources[slot] = Math.min(v, u);
+                    mstDestinations[slot] = Math.max(v, u);
+                    mstWeights[slot] = graph.getWeight(halfEdge);
+                }
+            });
+
+            if (mstSize.get() == before) { //No component has an edge out, so the graph isn't connected
+                return new EdgeArray(0);
+            }
+        }
+
+        EdgeArray MST = new EdgeArray(numVertices-1);
+        for (int i = 0; i < mstSize.get(); ++i) {
+            MST.add(mstSources[i], mstDestinations[i], mstWeights[i]);
+        }
+        return EdgeRadixSort.sort(MST); //Report in the same order Kruskal accepts edges
+    }
+
+    /**
+     * Makes vertex v the holder of its component's cheapest edge if v's edge beats the current holder's
+     */
+    private void offer(int comp, int v) {
+        while (true) {
+            int current = bestVertex.get(comp);
+            if (current != -1 && !lessThan(v, bestHalfEdge[v], current, bestHalfEdge[current])) {
+                return;
+            }
+            if (bestVertex.compareAndSet(comp, current, v)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Edge.lessThan on two half-edges, each given by the vertex it leaves and its index, with the endpoints of each
+     * edge put in (smaller, larger) order first
+     */
+    private boolean lessThan(int v1, int halfEdge1, int v2, int halfEdge2) {
+        int weight1 = graph.getWeight(halfEdge1);
+        int weight2 = graph.getWeight(halfEdge2);
+        if (weight1 != weight2) {
+            return weight1 < weight2;
+        }
+        int u1 = graph.getTarget(halfEdge1);
+        int u2 = graph.getTarget(halfEdge2);
+        int source1 = Math.min(v1, u1);
+        int source2 = Math.min(v2, u2);
+        if (source1 != source2) {
+            return source1 < source2;
+        }
+        return Math.max(v1, u1) < Math.max(v2, u2);
+    }
+}
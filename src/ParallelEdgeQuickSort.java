@@ -0,0 +1,81 @@
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Quicksort for edges that sorts the two sides of every large partition as separate fork/join tasks.
+ * Uses the same ordering as Edge.lessThan, so the sorted list (and the MST built from it) is identical to the one
+ * edgeQuickSort produces. Ranges too small to fork are finished with EdgeIntroSort, like edgeQuickSort.
+ *
+ * @author Clay Benson
+ */
+public class ParallelEdgeQuickSort extends RecursiveAction {
+
+    private static final long serialVersionUID = 1L;
+
+    //Ranges smaller than this are sorted on the current thread instead of being split into more tasks
+    private static final int FORK_THRESHOLD = 1 << 13;
+
+    private EdgeArray sortList;
+    private int lo, hi;
+
+    private ParallelEdgeQuickSort(EdgeArray sortList, int lo, int hi) {
+        this.sortList = sortList;
+        this.lo = lo;
+        this.hi = hi;
+    }
+
+    /**
+     * Sorts a whole list on the common fork/join pool
+     * @param sortList the list to sort
+     * @return the sorted list
+     */
+    public static EdgeArray sort(EdgeArray sortList) {
+        if (sortList.size() > 1) {
+            ForkJoinPool.commonPool().invoke(new ParallelEdgeQuickSort(sortList, 0, sortList.size()-1));
+        }
+        return sortList;
+    }
+
+    @Override
+    protected void compute() {
+        if (hi - lo < FORK_THRESHOLD) {
+            sequentialSort(lo, hi);
+            return;
+        }
+        int j = partition(lo, hi);
+        invokeAll(new ParallelEdgeQuickSort(sortList, lo, j-1), new ParallelEdgeQuickSort(sortList, j+1, hi));
+    }
+
+    private void sequentialSort(int lo, int hi) {
+        EdgeIntroSort.sort(sortList, lo, hi);
+    }
+
+    /**
+     * Same partitioning scheme as Graph.partition, with the median of the first, middle and last edges moved to lo
+     * as the pivot so already sorted ranges don't degrade to quadratic time
+     */
+    private int partition(int lo, int hi) {
+        int mid = (lo + hi) >>> 1;
+        if (sortList.lessThan(mid, lo)) sortList.swap(mid, lo);
+        if (sortList.lessThan(hi, lo)) sortList.swap(hi, lo);
+        if (sortList.lessThan(hi, mid)) sortList.swap(hi, mid);
+        sortList.swap(lo, mid);
+
+        int i = lo;
+        int j = hi + 1;
+        while (true) {
+            while (sortList.lessThan(++i, lo)) {
+                if (i == hi) break;
+            }
+            while (sortList.lessThan(lo, --j)) {
+                if (j == lo) break;
+            }
+
+            if (i >= j) break;
+            sortList.swap(i, j);
+        }
+
+        sortList.swap(lo, j);
+        return j;
+    }
+}
@@ -0,0 +1,152 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Generates the random graph on several threads. The columns of the pair space (column, row > column) are split into
+ * bands with about the same number of pairs, and each band is generated by its own task.
+ * Every column draws from its own SplittableRandom, seeded from (seed, attempt, column), so the graph depends only on
+ * (n, seed, p) and never on the number of threads or how the bands are scheduled. The bands' edge buffers are merged in
+ * column order, which keeps the edges in the same order the sequential generator produces them.
+ *
+ * @author Clay Benson
+ */
+public class ParallelGraphGenerator {
+
+    //Bands per thread, so threads that finish early can pick up more work
+    private static final int BANDS_PER_THREAD = 4;
+
+    /**
+     * Generates one attempt at a random graph
+     * @param n the number of vertices
+     * @param p the probability that any given edge is created
+     * @param sparse whether to skip between created edges geometrically instead of testing every pair
+     * @param seed the seed of the test
+     * @param attempt how many disconnected graphs were already thrown away (each attempt gives a new graph)
+     * @param numThreads how many threads to generate with
+     * @param adjMatrix the (all zero) matrix to write the edges into, or null to only build the edge list. Tasks
+     *                  write disjoint cells.
+     * @param generatedEdges the (empty) array the edges are appended to, ordered by column and then row, so a caller
+     *                       that retries can keep reusing one array's storage
+     */
+    public static void generate(int n, double p, boolean sparse, long seed, int attempt, int numThreads,
+                                AdjacencyMatrix adjMatrix, EdgeArray generatedEdges) {
+        int[] bandStart = splitColumns(n, numThreads * BANDS_PER_THREAD);
+        ExecutorService pool = Executors.newFixedThreadPool(numThreads);
+        try {
+            List<Future<EdgeArray>> bands = new ArrayList<>(bandStart.length - 1);
+            for (int b = 0; b < bandStart.length - 1; ++b) {
+                final int firstColumn = bandStart[b];
+                final int lastColumn = bandStart[b+1];
+                bands.add(pool.submit(() -> {
+                    EdgeArray bandEdges = new EdgeArray(16);
+                    for (int column = firstColumn; column < lastColumn; ++column) {
+                        SplittableRandom columnGen = new SplittableRandom(mix(seed, attempt, column));
+                        if (sparse) {
+                            generateSparseColumn(n, p, column, columnGen, bandEdges, adjMatrix);
+                        } else {
+                            generateDenseColumn(n, p, column, columnGen, bandEdges, adjMatrix);
+                        }
+                    }
+                    return bandEdges;
+                }));
+            }
+
+            for (Future<EdgeArray> band : bands) { //Merge in column order
+                generatedEdges.addAll(band.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Graph generation was interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Graph generation worker failed", e.getCause());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private static void generateDenseColumn(int n, double p, int column, SplittableRandom columnGen,
+                                            EdgeArray bandEdges, AdjacencyMatrix adjMatrix) {
+        for (int row = column+1; row < n; ++row) {
+            if (columnGen.nextDouble() <= p) {
+                addEdge(n, column, row, columnGen, bandEdges, adjMatrix);
+            }
+        }
+    }
+
+    /**
+     * Same geometric skipping as Graph.generateSparseEdges, restricted to one column
+     */
+    private static void generateSparseColumn(int n, double p, int column, SplittableRandom columnGen,
+                                             EdgeArray bandEdges, AdjacencyMatrix adjMatrix) {
+        if (p <= 0) {
+            return;
+        }
+        double logMissProbability = Math.log1p(-p);
+        long row = column;
+        while (true) {
+            double skip = Math.floor(Math.log1p(-columnGen.nextDouble()) / logMissProbability);
+            if (skip >= n) {
+                return;
+            }
+            row += 1 + (long) skip;
+            if (row >= n) {
+                return;
+            }
+            addEdge(n, column, (int) row, columnGen, bandEdges, adjMatrix);
+        }
+    }
+
+    private static void addEdge(int n, int column, int row, SplittableRandom columnGen, EdgeArray bandEdges,
+                                AdjacencyMatrix adjMatrix) {
+        int weight = columnGen.nextInt(n) + 1;
+        if (adjMatrix != null) {
+            adjMatrix.set(row, column, weight);
+        }
+        bandEdges.add(column, row, weight);
+    }
+
+    /**
+     * Splits the columns 0..n-1 into contiguous bands holding roughly the same number of vertex pairs
+     * (column c has n-1-c pairs, so early bands have fewer columns)
+     * @return the first column of every band, followed by n
+     */
+    private static int[] splitColumns(int n, int numBands) {
+        long totalPairs = (long) n * (n - 1) / 2;
+        numBands = Math.max(1, Math.min(numBands, n));
+        int[] bandStart = new int[numBands+1];
+        long pairsSoFar = 0;
+        int band = 1;
+        for (int column = 0; column < n && band < numBands; ++column) {
+            pairsSoFar += n - 1 - column;
+            if (pairsSoFar * numBands >= totalPairs * band) {
+                bandStart[band++] = column+1;
+            }
+        }
+        while (band <= numBands) {
+            bandStart[band++] = n;
+        }
+        return bandStart;
+    }
+
+    /**
+     * Derives a well mixed per-column seed (SplitMix64 finalizer), since neighboring raw seeds would give
+     * SplittableRandom sequences that overlap
+     */
+    private static long mix(long seed, int attempt, int column) {
+        long z = seed;
+        z = finalizeMix(z + 0x9E3779B97F4A7C15L * (attempt + 1));
+        z = finalizeMix(z + 0x9E3779B97F4A7C15L * (column + 1));
+        return z;
+    }
+
+    private static long finalizeMix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
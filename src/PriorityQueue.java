@@ -1,37 +1,80 @@
-import java.util.ArrayList;
-
 /**
+ * Indexed binary min-heap over the vertices 0..n-1, keyed by int.
+ * Keeps a vertex to heap position map so decreaseKey, extractMin and contains all run in O(log V) or better.
+ * The heap is 1-indexed (pq[1] is the root), like the textbook version.
+ *
  * Created by Clay on 4/23/2016.
  */
-public class PriorityQueue {
-    private ArrayList<pqItem> pq;
+public class PriorityQueue implements IndexedPriorityQueue {
+    private int[] pq;       //Heap position -> vertex
+    private int[] position; //Vertex -> heap position, 0 if the vertex isn't in the heap
+    private int[] keys;     //Vertex -> key
     private int numItems;
 
-    public PriorityQueue(int numItems) {
-        this.numItems = numItems;
-        pq = new ArrayList<>(numItems+1);
-        pq.add(null);
-        for (int i = 0; i < numItems; ++i) {
-            pq.add(new pqItem(i+1));
-        }
-        heapify();
-    }
-
-    public void setNumItems(int numItems) {
-        this.numItems = numItems;
+    /**
+     * Creates an empty queue
+     * @param capacity the number of vertices that can be stored (vertices are 0 to capacity-1)
+     */
+    public PriorityQueue(int capacity) {
+        pq = new int[capacity+1];
+        position = new int[capacity];
+        keys = new int[capacity];
+        numItems = 0;
     }
 
     public int getNumItems() {
         return this.numItems;
     }
 
-    public void heapify() {
-        for (int k = numItems/2; k >= 1; k--) {
-            sink(k);
-        }
+    public boolean isEmpty() {
+        return numItems == 0;
+    }
+
+    public boolean contains(int vertex) {
+        return position[vertex] != 0;
+    }
+
+    public int getKey(int vertex) {
+        return keys[vertex];
+    }
+
+    /**
+     * Adds a vertex that isn't in the queue yet
+     */
+    public void insert(int vertex, int key) {
+        if (Metrics.ENABLED) Metrics.add(Metrics.Counter.HEAP_OPERATIONS, 1);
+        numItems++;
+        pq[numItems] = vertex;
+        position[vertex] = numItems;
+        keys[vertex] = key;
+        swim(numItems);
+    }
+
+    /**
+     * Lowers the key of a vertex that is already in the queue
+     */
+    public void decreaseKey(int vertex, int key) {
+        if (Metrics.ENABLED) Metrics.add(Metrics.Counter.HEAP_OPERATIONS, 1);
+        keys[vertex] = key;
+        swim(position[vertex]);
+    }
+
+    /**
+     * Removes the vertex with the smallest key
+     * @return the removed vertex
+     */
+    public int extractMin() {
+        if (Metrics.ENABLED) Metrics.add(Metrics.Counter.HEAP_OPERATIONS, 1);
+        int min = pq[1];
+        swap(1, numItems);
+        numItems--;
+        position[min] = 0;
+        sink(1);
+        return min;
     }
 
-    public void sink(int k) {
+    private void sink(int k) {
+        int steps = 0;
         while (2*k <= numItems) {
             int j = 2*k;
 
@@ -45,67 +88,32 @@ public class PriorityQueue {
 
             swap(k,j);
             k = j;
+            steps++;
         }
+        if (Metrics.ENABLED) Metrics.add(Metrics.Counter.HEAP_SIFT_STEPS, steps);
     }
 
-    public void swim(int k) {
+    private void swim(int k) {
+        int steps = 0;
         while (k > 1 && greater(k/2, k)) {
             swap(k, k/2);
             k = k/2;
+            steps++;
         }
+        if (Metrics.ENABLED) Metrics.add(Metrics.Counter.HEAP_SIFT_STEPS, steps);
     }
 
-    public boolean greater(int i, int j) {
-        return pq.get(i).getKey() > pq.get(j).getKey();
-    }
-
-    public void swap(int i, int j) {
-        pqItem item1 = new pqItem(pq.get(i));
-        pqItem item2 = new pqItem(pq.get(j));
-        pq.set(i,item2);
-        pq.set(j,item1);
+    private boolean greater(int i, int j) {
+        return keys[pq[i]] > keys[pq[j]];
     }
 
-    public ArrayList<pqItem> getPq() {
-        return pq;
+    private void swap(int i, int j) {
+        int vertex1 = pq[i];
+        int vertex2 = pq[j];
+        pq[i] = vertex2;
+        pq[j] = vertex1;
+        position[vertex2] = i;
+        position[vertex1] = j;
     }
 
 }
-
-class pqItem {
-    private int key;
-    private int vertex;
-    private int parent;
-
-    public pqItem(int index) {
-        this.key = Integer.MAX_VALUE;
-        this.vertex = index;
-        this.parent = -1;
-    }
-
-    public pqItem(pqItem clone) {
-        this.key = clone.getKey();
-        this.vertex = clone.getVertex();
-        this.parent = clone.getParent();
-    }
-
-    public int getKey() {
-        return this.key;
-    }
-
-    public void setKey(int key) {
-        this.key = key;
-    }
-
-    public int getVertex() {
-        return this.vertex;
-    }
-
-    public int getParent() {
-        return this.parent;
-    }
-
-    public void setParent(int parent) {
-        this.parent = parent;
-    }
-}
\ No newline at end of file
@@ -0,0 +1,84 @@
+/**
+ * Bounded-memory Kruskal for edges that arrive one at a time and are never stored as a whole graph.
+ * Keeps the current minimum spanning forest (at most n-1 edges) plus a buffer of new edges. Whenever the buffer fills,
+ * the forest and the buffer are sorted together and run through Kruskal, and only the accepted edges are kept as the
+ * new forest. An edge dropped this way is the heaviest edge on some cycle, so by the cycle property it can't be in the
+ * MST; the final forest is exactly the tree kruskal finds on the full sorted edge list.
+ * Memory is O(n + bufferSize) no matter how many edges stream through.
+ *
+ * @author Clay Benson
+ */
+public class StreamingMST {
+
+    private int numVertices;
+    private int bufferSize;
+    private EdgeArray candidates; //The forest, followed by the buffered edges
+    private int forestSize;
+    private DisjointSet disjointVertices;
+    private long edgesSeen;
+
+    /**
+     * @param numVertices the number of vertices in the graph
+     * @param bufferSize how many edges to buffer between compactions (at least n keeps the total work linear)
+     */
+    public StreamingMST(int numVertices, int bufferSize) {
+        this.numVertices = numVertices;
+        this.bufferSize = Math.max(bufferSize, 1);
+        candidates = new EdgeArray(numVertices - 1 + this.bufferSize);
+        disjointVertices = new DisjointSet(numVertices);
+        forestSize = 0;
+        edgesSeen = 0;
+    }
+
+    /**
+     * Forgets every edge seen so far, keeping the buffers
+     */
+    public void reset() {
+        candidates.clear();
+        forestSize = 0;
+        edgesSeen = 0;
+    }
+
+    public void addEdge(int source, int destination, int weight) {
+        candidates.add(source, destination, weight);
+        edgesSeen++;
+        if (candidates.size() - forestSize >= bufferSize) {
+            compact();
+        }
+    }
+
+    public long getEdgesSeen() {
+        return edgesSeen;
+    }
+
+    /**
+     * Folds in the remaining buffered edges
+     * @return the MST edges in the order Kruskal accepts them, or an empty list if the graph isn't connected
+     */
+    public EdgeArray finish() {
+        compact();
+        if (forestSize < numVertices-1) {
+            return new EdgeArray(0);
+        }
+        return new EdgeArray(candidates);
+    }
+
+    /**
+     * Replaces the forest and buffer with the minimum spanning forest of their union
+     */
+    private void compact() {
+        EdgeRadixSort.sort(candidates);
+        disjointVertices.reset();
+        int kept = 0;
+        for (int i = 0; i < candidates.size() && kept < numVertices-1; ++i) {
+            int root1 = disjointVertices.find(candidates.getSource(i));
+            int root2 = disjointVertices.find(candidates.getDestination(i));
+            if (root1 != root2) {
+                disjointVertices.unionRoots(root1, root2);
+                candidates.copy(i, kept++);
+            }
+        }
+        candidates.truncate(kept);
+        forestSize = kept;
+    }
+}